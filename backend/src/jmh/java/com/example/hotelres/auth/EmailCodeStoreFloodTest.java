@@ -0,0 +1,131 @@
+package com.example.hotelres.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * EmailCodeStoreFloodTest (인증 코드 저장소 상한/만료 검증)
+ * ---------------------------------------------------------------
+ *  - flood  : 서로 다른 이메일 flood 건 저장 → 저장 건수 <= cap, 나머지 거절, 보존 힙 측정
+ *             (같은 건수를 예전 구조 {String code, Instant exp} 로 담았을 때와 비교)
+ *  - expiry : TTL 3초로 cap 만큼 저장 → 만료 후 sweep() 이 전부 제거, 다시 저장 가능
+ *  - consume: 같은 코드로 동시 consume 32회 → 정확히 1회 성공
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.auth.EmailCodeStoreFloodTest \
+ *          -Djmh.args="cap=100000 flood=1000000"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class EmailCodeStoreFloodTest {
+
+    /** 변경 전 저장 항목 구조 (메모리 비교용) */
+    private static final class LegacyEntry { String code; Instant exp; }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int cap = Integer.parseInt(opts.getOrDefault("cap", "100000"));
+        int flood = Integer.parseInt(opts.getOrDefault("flood", "1000000"));
+        boolean pass = true;
+
+        // ---- flood ----
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        long before = usedHeap();
+        EmailCodeStore store = new EmailCodeStore(registry, cap);
+        int accepted = 0;
+        for (int i = 0; i < flood; i++) {
+            if (store.save("spam" + i + "@bench.local", code(i), 300)) accepted++;
+        }
+        long storeBytes = usedHeap() - before;
+
+        before = usedHeap();
+        Map<String, LegacyEntry> legacy = new ConcurrentHashMap<>();
+        for (int i = 0; i < accepted; i++) {
+            var e = new LegacyEntry();
+            e.code = code(i);
+            e.exp = Instant.now().plusSeconds(300);
+            legacy.put("spam" + i + "@bench.local", e);
+        }
+        long legacyBytes = usedHeap() - before;
+        double rejected = registry.get("auth.email.code.rejected").counter().count();
+        boolean floodOk = accepted == cap && store.size() == cap && rejected == flood - cap;
+        pass &= floodOk;
+
+        System.out.printf("""
+
+                ===== EmailCodeStoreFloodTest cap=%d flood=%d =====
+                 flood          : accepted %d, rejected %.0f, size %d  %s
+                 retained heap  : %.1f MB (%.0f B/entry)  vs legacy %.1f MB (%.0f B/entry)
+                """,
+                cap, flood, accepted, rejected, store.size(), floodOk ? "OK" : "FAIL",
+                storeBytes / 1e6, (double) storeBytes / accepted, legacyBytes / 1e6, (double) legacyBytes / accepted);
+        legacy.clear();
+
+        // ---- expiry ----
+        registry = new SimpleMeterRegistry();
+        store = new EmailCodeStore(registry, cap);
+        for (int i = 0; i < cap; i++) store.save("user" + i + "@bench.local", code(i), 3);
+        boolean fullRejects = !store.save("late@bench.local", "123456", 300);
+        Thread.sleep(4100); // 만료 판정은 epoch 초 단위 (TTL 경과 후 다음 초부터 만료)
+        long t0 = System.nanoTime();
+        int swept = store.sweep();
+        double sweepMs = (System.nanoTime() - t0) / 1e6;
+        boolean acceptsAgain = store.save("late@bench.local", "123456", 300);
+        boolean expiryOk = fullRejects && swept == cap && store.size() == 1 && acceptsAgain
+                && registry.get("auth.email.code.evicted").counter().count() == cap;
+        pass &= expiryOk;
+        System.out.printf(" expiry         : full->reject %s, swept %d in %.1f ms, size after %d, accepts again %s  %s%n",
+                fullRejects, swept, sweepMs, store.size(), acceptsAgain, expiryOk ? "OK" : "FAIL");
+
+        // ---- consume ----
+        EmailCodeStore single = new EmailCodeStore(new SimpleMeterRegistry(), cap);
+        single.save("Race@Bench.local ", "654321", 300);
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[32];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    if (single.consume("race@bench.local", "654321")) wins.incrementAndGet();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread t : threads) t.join();
+        boolean wrongRejected = !single.check("race@bench.local", "654321") && !single.check("x@bench.local", "abc");
+        boolean consumeOk = wins.get() == 1 && wrongRejected;
+        pass &= consumeOk;
+        System.out.printf(" consume        : %d of %d concurrent consumes succeeded  %s%n",
+                wins.get(), threads.length, consumeOk ? "OK" : "FAIL");
+
+        System.out.println(pass ? " RESULT         : PASS" : " RESULT         : FAIL");
+        System.exit(pass ? 0 : 1);
+    }
+
+    private static String code(int i) {
+        return String.valueOf(100000 + i % 900000);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.hotelres.auth;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.user.User;
+import com.example.hotelres.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * LoginLockoutLoadTest (로그인 실패 누적/잠금 원자성 + 남용 시도 사전 차단)
+ * ---------------------------------------------------------------
+ *  - legacy : 예전 방식(엔티티 읽기 → +1 → save)을 burst 스레드가 동시에 → 최종 failed_login_attempts (잃어버린 갱신 수)
+ *  - atomic : 같은 계정에 틀린 비밀번호 burst 건 동시 POST /api/auth/login (스로틀 한도는 크게)
+ *             → failed_login_attempts == 401 응답 수, 상태 LOCKED, USER_TOKENS_REVOKED 이벤트 정확히 1건
+ *  - race   : 실패 4회 쌓인 계정마다 올바른 비밀번호 1건 + 틀린 비밀번호 (burst-1)건 동시 (rounds 개 계정)
+ *             → 성공 경로의 초기화가 잠금을 지우지 않음 (LOCKED 인데 locked_at NULL 인 계정 0개)
+ *  - login  : 기본 한도로 재기동, 없는 계정 하나에 20회 → 한도(10) 이후 429, users 조회/BCrypt 없음
+ *  - ip     : IP 한도 켜고(app.auth.throttle.ip.enabled) 같은 IP 로 서로 다른 계정(있는 계정 50개) 에 attempts 회 → IP 한도(30) 이후 429 + Retry-After,
+ *             BCrypt 실행 수 <= 한도
+ *  - 검증: 위 조건 모두
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.auth.LoginLockoutLoadTest \
+ *          -Djmh.args="burst=32 attempts=200 rounds=8"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class LoginLockoutLoadTest {
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private static final String HASH = new BCryptPasswordEncoder().encode("pw1234!");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int burst = Integer.parseInt(opts.getOrDefault("burst", "32"));
+        int attempts = Integer.parseInt(opts.getOrDefault("attempts", "200"));
+        int rounds = Integer.parseInt(opts.getOrDefault("rounds", "8"));
+
+        boolean pass = true;
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, 7, 10, Map.of(
+                "app.auth.throttle.login.max-failures", 100_000,
+                "app.auth.throttle.ip.max-failures", 100_000,
+                "app.auth.hash.queue-capacity", 1000,
+                "app.auth.hash.max-wait-ms", 600_000))) {
+            System.out.printf("%n===== LoginLockoutLoadTest burst=%d attempts=%d =====%n", burst, attempts);
+            legacy(env, burst);
+            pass &= atomic(env, burst);
+            pass &= race(env, burst, rounds);
+        }
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, 7, 10, Map.of(
+                "app.auth.throttle.ip.enabled", true))) {
+            pass &= perLogin(env);
+            pass &= perIp(env, attempts);
+        }
+        System.out.println(pass ? " RESULT         : PASS" : " RESULT         : FAIL");
+        System.exit(pass ? 0 : 1);
+    }
+
+    /** 예전 읽기-수정-쓰기: 동시 실패가 서로의 +1 을 덮어씀 */
+    private static void legacy(BenchEnvironment env, int burst) throws Exception {
+        insertUser(env, "legacy");
+        UserRepository users = env.bean(UserRepository.class);
+        concurrently(burst, () -> {
+            User u = users.findByLoginId("legacy").orElseThrow();
+            u.setFailedLoginAttempts(u.getFailedLoginAttempts() + 1);
+            users.save(u);
+        });
+        int stored = env.jdbc().queryForObject("SELECT failed_login_attempts FROM users WHERE login_id = 'legacy'", Integer.class);
+        System.out.printf(" legacy         : %d concurrent failures -> failed_login_attempts %d (%d lost)%n",
+                burst, stored, burst - stored);
+    }
+
+    private static boolean atomic(BenchEnvironment env, int burst) throws Exception {
+        String base = "http://localhost:" + env.port();
+        insertUser(env, "victim");
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        concurrently(burst, () -> statuses.computeIfAbsent(login(base, "victim", "wrong").statusCode(),
+                k -> new AtomicInteger()).incrementAndGet());
+
+        Map<String, Object> row = env.jdbc().queryForMap(
+                "SELECT failed_login_attempts, status FROM users WHERE login_id = 'victim'");
+        int stored = ((Number) row.get("failed_login_attempts")).intValue();
+        int unauthorized = count(statuses, 401);
+        int revocations = env.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE event_type = 'USER_TOKENS_REVOKED' AND aggregate_id = 'victim'",
+                Integer.class);
+        boolean ok = stored == unauthorized && unauthorized + count(statuses, 403) == burst
+                && "LOCKED".equals(row.get("status")) && revocations == 1;
+        System.out.printf(" atomic         : %d concurrent failures -> statuses %s, failed_login_attempts %d, %s,"
+                        + " revocation events %d  %s%n",
+                burst, statuses, stored, row.get("status"), revocations, ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    /** 성공 1건이 잠금과 겹쳐도 잠금(locked_at) 이 지워지지 않음 */
+    private static boolean race(BenchEnvironment env, int burst, int rounds) throws Exception {
+        String base = "http://localhost:" + env.port();
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        for (int r = 0; r < rounds; r++) {
+            String loginId = "racer" + r;
+            insertUser(env, loginId);
+            env.jdbc().update("UPDATE users SET failed_login_attempts = 4 WHERE login_id = ?", loginId);
+            AtomicInteger ticket = new AtomicInteger();
+            concurrently(burst, () -> {
+                String password = ticket.getAndIncrement() == 0 ? "pw1234!" : "wrong";
+                statuses.computeIfAbsent(login(base, loginId, password).statusCode(),
+                        k -> new AtomicInteger()).incrementAndGet();
+            });
+        }
+        int locked = env.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM users WHERE login_id LIKE 'racer%' AND status = 'LOCKED'", Integer.class);
+        int lost = env.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM users WHERE login_id LIKE 'racer%' AND status = 'LOCKED' AND locked_at IS NULL",
+                Integer.class);
+        boolean ok = lost == 0;
+        System.out.printf(" race           : %d accounts x (1 correct + %d wrong) -> statuses %s, locked %d,"
+                        + " locked without locked_at %d  %s%n",
+                rounds, burst - 1, statuses, locked, lost, ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    /** 없는 계정 하나에 반복 → 계정 한도 이후 429 (users 조회 없이) */
+    private static boolean perLogin(BenchEnvironment env) throws Exception {
+        String base = "http://localhost:" + env.port();
+        int unauthorized = 0, throttled = 0;
+        for (int i = 0; i < 20; i++) {
+            int code = login(base, "ghost", "wrong").statusCode();
+            if (code == 401) unauthorized++;
+            if (code == 429) throttled++;
+        }
+        boolean ok = unauthorized == 10 && throttled == 10;
+        System.out.printf(" login limit    : 20 attempts on one unknown account -> 401 %d / 429 %d  %s%n",
+                unauthorized, throttled, ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    /** 한 IP 가 여러 계정에 뿌림 → IP 한도 이후 BCrypt 없이 429 */
+    private static boolean perIp(BenchEnvironment env, int attempts) throws Exception {
+        String base = "http://localhost:" + env.port();
+        for (int i = 0; i < 50; i++) insertUser(env, "spray" + i);
+        MeterRegistry meters = env.bean(MeterRegistry.class);
+        long hashesBefore = meters.timer("auth.hash", "op", "matches").count();
+
+        int unauthorized = 0, throttled = 0;
+        AtomicBoolean retryAfter = new AtomicBoolean();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < attempts; i++) {
+            HttpResponse<Void> r = login(base, "spray" + (i % 50), "wrong");
+            if (r.statusCode() == 401) unauthorized++;
+            if (r.statusCode() == 429) {
+                throttled++;
+                if (r.headers().firstValue("Retry-After").isPresent()) retryAfter.set(true);
+            }
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        long hashes = meters.timer("auth.hash", "op", "matches").count() - hashesBefore;
+
+        // 앞 단계(없는 계정 10회)가 같은 IP 윈도에 남아 있음 → 이 단계에서 통과하는 실패는 30 - 10
+        boolean ok = unauthorized == 20 && throttled == attempts - 20 && retryAfter.get() && hashes == unauthorized;
+        System.out.printf(" ip limit       : %d attempts over 50 accounts -> 401 %d / 429 %d (Retry-After %s),"
+                        + " BCrypt runs %d, %.0f attempts/s  %s%n",
+                attempts, unauthorized, throttled, retryAfter.get() ? "yes" : "no", hashes, attempts / seconds,
+                ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    private static void insertUser(BenchEnvironment env, String loginId) {
+        env.jdbc().update("INSERT INTO users(login_id, password_hash, name, email, status, role)"
+                + " VALUES (?, ?, '벤치', ?, 'ACTIVE', 'ROLE_USER')", loginId, HASH, loginId + "@bench.local");
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    /** n 개 스레드가 동시에 출발 */
+    private static void concurrently(int n, Task task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(n);
+        for (int i = 0; i < n; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (Exception e) {
+                    System.out.println("   task failed: " + e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static HttpResponse<Void> login(String base, String loginId, String password) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"loginId\":\"" + loginId + "\",\"password\":\"" + password + "\"}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static int count(Map<Integer, AtomicInteger> m, int key) {
+        AtomicInteger c = m.get(key);
+        return c == null ? 0 : c.get();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.hotelres.auth;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * LoginStormLoadTest (로그인 폭주 중 호텔 조회 지연 + BCrypt 실행기 검증)
+ * ---------------------------------------------------------------
+ *  - 두 모드로 각각 기동
+ *      unbounded: workers=logins, 큰 대기열 → 요청마다 바로 해시 (변경 전과 같은 동시 해시 수)
+ *      bounded  : workers/queue 기본값(또는 인자) → 초과분 즉시 429
+ *  - logins 개 클라이언트가 seconds 초 동안 POST /api/auth/login 반복 (429 면 Retry-After 만큼 쉬고 재시도),
+ *    동시에 readers 개 클라이언트가 GET /api/hotels/1/featured 반복
+ *  - 보고: 조회 처리량/p50/p99, 로그인 200/429/기타 건수와 200 의 p99, 429 의 Retry-After 유무,
+ *          해시 시간/대기열 대기 평균, 거절 사유별 건수
+ *  - 재해시: cost 4 해시로 저장된 계정 로그인 → DB 해시가 설정 비용으로 바뀌고 재로그인 성공
+ *  - 검증: bounded 모드 — 로그인 5xx 0, 429 에 Retry-After, 재해시 OK, 조회 p99 가 unbounded 보다 낮음
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.auth.LoginStormLoadTest \
+ *          -Djmh.args="logins=64 readers=4 seconds=20 workers=1 queue=16"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class LoginStormLoadTest {
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private static final int USERS = 50;
+
+    private record Stats(double readRps, double readP50, double readP99,
+                         int ok, int tooMany, int other, boolean retryAfter, double loginP99) {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int logins = Integer.parseInt(opts.getOrDefault("logins", "64"));
+        int readers = Integer.parseInt(opts.getOrDefault("readers", "4"));
+        int seconds = Integer.parseInt(opts.getOrDefault("seconds", "20"));
+        int workers = Integer.parseInt(opts.getOrDefault("workers", "0"));
+        int queue = Integer.parseInt(opts.getOrDefault("queue", "16"));
+
+        Stats unbounded, bounded;
+        boolean rehash;
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, 7, 10, Map.of(
+                "app.auth.hash.workers", logins, "app.auth.hash.queue-capacity", 10_000,
+                "app.auth.hash.max-wait-ms", 600_000))) {
+            unbounded = storm(env, "unbounded", logins, readers, seconds);
+        }
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, 7, 10, Map.of(
+                "app.auth.hash.workers", workers, "app.auth.hash.queue-capacity", queue))) {
+            bounded = storm(env, "bounded", logins, readers, seconds);
+            rehash = rehash(env);
+        }
+
+        boolean pass = bounded.other() == 0 && bounded.tooMany() > 0 && bounded.retryAfter() && rehash
+                && bounded.readP99() < unbounded.readP99();
+        System.out.printf(" read p99       : unbounded %.1f ms -> bounded %.1f ms%n", unbounded.readP99(), bounded.readP99());
+        System.out.println(pass ? " RESULT         : PASS" : " RESULT         : FAIL");
+        System.exit(pass ? 0 : 1);
+    }
+
+    private static Stats storm(BenchEnvironment env, String mode, int logins, int readers, int seconds) throws Exception {
+        String base = "http://localhost:" + env.port();
+        MeterRegistry meters = env.bean(MeterRegistry.class);
+        String hash = new BCryptPasswordEncoder().encode("pw1234!");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) rows.add(new Object[]{"storm" + i, hash, "storm" + i + "@bench.local"});
+        env.jdbc().batchUpdate("INSERT INTO users(login_id, password_hash, name, email, status, role)"
+                + " VALUES (?, ?, '벤치', ?, 'ACTIVE', 'ROLE_USER')", rows);
+        for (int i = 0; i < 50; i++) get(base + "/api/hotels/1/featured");   // 캐시 적재 + 워밍업
+        for (int i = 0; i < 5; i++) login(base, "storm" + i);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<Long> readLatencies = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> loginLatencies = new ConcurrentLinkedQueue<>();
+        Map<String, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        AtomicBoolean retryAfter = new AtomicBoolean();
+        AtomicInteger readErrors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(logins + readers);
+
+        long t0 = System.nanoTime();
+        for (int c = 0; c < logins; c++) {
+            final String loginId = "storm" + (c % USERS);
+            pool.execute(() -> {
+                while (running.get()) {
+                    try {
+                        long s = System.nanoTime();
+                        HttpResponse<Void> r = login(base, loginId);
+                        int code = r.statusCode();
+                        String key = code == 200 ? "ok" : code == 429 ? "tooMany" : "other";
+                        statuses.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                        if (code == 200) loginLatencies.add(System.nanoTime() - s);
+                        if (code == 429) {
+                            var after = r.headers().firstValue("Retry-After");
+                            if (after.isPresent()) retryAfter.set(true);
+                            Thread.sleep(Long.parseLong(after.orElse("1")) * 1000L); // 안내대로 재시도
+                        }
+                    } catch (Exception e) {
+                        statuses.computeIfAbsent("other", k -> new AtomicInteger()).incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (int c = 0; c < readers; c++) {
+            pool.execute(() -> {
+                while (running.get()) {
+                    try {
+                        long s = System.nanoTime();
+                        if (get(base + "/api/hotels/1/featured") != 200) readErrors.incrementAndGet();
+                        readLatencies.add(System.nanoTime() - s);
+                    } catch (Exception e) {
+                        readErrors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - t0) / 1e9;
+
+        long[] reads = readLatencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] oks = loginLatencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        Stats st = new Stats(reads.length / elapsed, pct(reads, 0.50), pct(reads, 0.99),
+                count(statuses, "ok"), count(statuses, "tooMany"), count(statuses, "other"),
+                retryAfter.get(), pct(oks, 0.99));
+        System.out.printf("""
+
+                ===== LoginStormLoadTest mode=%s logins=%d readers=%d seconds=%d =====
+                 reads          : %.0f req/s, p50 %.1f ms / p99 %.1f ms (errors %d)
+                 logins         : 200 %d (%.1f/s, p99 %.0f ms), 429 %d (Retry-After %s), other %d
+                 hashing        : matches mean %.1f ms, queue wait mean %.1f ms, rejected queue_full %.0f / timeout %.0f
+                """,
+                mode, logins, readers, seconds,
+                st.readRps(), st.readP50(), st.readP99(), readErrors.get(),
+                st.ok(), st.ok() / elapsed, st.loginP99(), st.tooMany(), st.retryAfter() ? "yes" : "no", st.other(),
+                meters.timer("auth.hash", "op", "matches").mean(TimeUnit.MILLISECONDS),
+                meters.timer("auth.hash.queue.wait").mean(TimeUnit.MILLISECONDS),
+                meters.counter("auth.hash.rejected", "reason", "queue_full").count(),
+                meters.counter("auth.hash.rejected", "reason", "timeout").count());
+        return st;
+    }
+
+    /** cost 4 로 저장된 해시 → 로그인 성공 후 설정 비용(기본 10)으로 재해시 */
+    private static boolean rehash(BenchEnvironment env) throws Exception {
+        String base = "http://localhost:" + env.port();
+        env.jdbc().update("INSERT INTO users(login_id, password_hash, name, email, status, role)"
+                        + " VALUES ('legacy', ?, '벤치', 'legacy@bench.local', 'ACTIVE', 'ROLE_USER')",
+                new BCryptPasswordEncoder(4).encode("pw1234!"));
+        int first = login(base, "legacy").statusCode();
+        String stored = env.jdbc().queryForObject("SELECT password_hash FROM users WHERE login_id = 'legacy'", String.class);
+        int second = login(base, "legacy").statusCode();
+        boolean ok = first == 200 && second == 200 && stored.startsWith("$2a$10$");
+        System.out.printf(" rehash         : login %d, stored cost %s, login again %d  %s%n",
+                first, stored.substring(4, 6), second, ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    private static HttpResponse<Void> login(String base, String loginId) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"loginId\":\"" + loginId + "\",\"password\":\"pw1234!\"}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static int get(String url) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static double pct(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    private static int count(Map<String, AtomicInteger> m, String key) {
+        AtomicInteger c = m.get(key);
+        return c == null ? 0 : c.get();
+    }
+}
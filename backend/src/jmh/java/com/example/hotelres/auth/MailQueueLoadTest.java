@@ -0,0 +1,180 @@
+package com.example.hotelres.auth;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.bench.SmtpStubServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/*
+ * ================================================================
+ * MailQueueLoadTest (인증 코드 메일 발송 부하 테스트)
+ * ---------------------------------------------------------------
+ *  - POST /api/auth/email/send 를 서로 다른 이메일로 N 건 동시에 호출
+ *  - SMTP 대역(SmtpStubServer)에 메시지당 delay ms 지연 + 처음 fail 건 451 일시 오류 주입
+ *  - 측정 전 warmup 건(지연/오류 없음)을 먼저 보내 JIT/커넥션 준비 → 이후 수치는 측정 구간만
+ *  - 보고: 엔드포인트 p50/p99/max 지연, 전달 완료까지 걸린 시간, 받은 메시지/수신자 수,
+ *          SMTP 연결 수(연결 재사용), 재시도/최종 실패 수
+ *  - 검증: 성공 응답 건수 == 서로 다른 수신자로 전달된 메시지 수 + 최종 실패 수 (유실/중복 없음)
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.auth.MailQueueLoadTest \
+ *          -Djmh.args="requests=500 concurrency=50 delay=20 fail=2"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class MailQueueLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int requests = Integer.parseInt(opts.getOrDefault("requests", "500"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "50"));
+        long delay = Long.parseLong(opts.getOrDefault("delay", "20"));
+        int fail = Integer.parseInt(opts.getOrDefault("fail", "2"));
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "200"));
+
+        int exit;
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, 7, 10, Map.of())) {
+            if (warmup > 0) {
+                Round w = round(env, "warmup", warmup, concurrency);
+                awaitDelivered(env.smtp(), w.ok.get(), () -> 0);
+            }
+            exit = run(env, requests, concurrency, delay, fail);
+        }
+        System.exit(exit);
+    }
+
+    private static int run(BenchEnvironment env, int requests, int concurrency, long delay, int fail) throws Exception {
+        SmtpStubServer smtp = env.smtp();
+        MeterRegistry registry = env.bean(MeterRegistry.class);
+        int baseMessages = smtp.messages().size();
+        int baseConnections = smtp.connections();
+        double baseRetries = count(registry, "mail.retry");
+        double baseFailed = count(registry, "mail.failed");
+        smtp.delayMillis(delay);
+        smtp.failNext(fail);
+
+        Round r = round(env, "user", requests, concurrency);
+        int ok = r.ok.get();
+        // 비동기 발송이면 응답 후에도 전달이 이어짐 → 성공 건수만큼 도착(또는 최종 실패)할 때까지 대기
+        awaitDelivered(smtp, baseMessages + ok, () -> (int) (count(registry, "mail.failed") - baseFailed));
+        long deliveredNanos = System.nanoTime() - r.startNanos;
+        Thread.sleep(500); // 늦게 도착하는 중복 확인용
+
+        List<SmtpStubServer.Received> received = smtp.messages().subList(baseMessages, smtp.messages().size());
+        long distinct = received.stream().map(SmtpStubServer.Received::recipient).distinct().count();
+        int failed = (int) (count(registry, "mail.failed") - baseFailed);
+
+        long[] latencies = r.latencies;
+        Arrays.sort(latencies);
+        System.out.printf("""
+
+                ===== MailQueueLoadTest requests=%d concurrency=%d smtp-delay=%dms transient-failures=%d =====
+                 endpoint       : ok %d / errors %d %s, all responded in %.2f s
+                 endpoint lat.  : p50 %.1f ms / p99 %.1f ms / max %.1f ms
+                 delivered      : %d messages to %d recipients in %.2f s, %d given up
+                 smtp           : %d connections, %.0f retries
+                """,
+                requests, concurrency, delay, fail,
+                ok, r.errors.get(), r.errorKinds, r.respondedNanos / 1e9,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[requests - 1] / 1e6,
+                received.size(), distinct, deliveredNanos / 1e9, failed,
+                smtp.connections() - baseConnections, count(registry, "mail.retry") - baseRetries);
+
+        boolean pass = r.errors.get() == 0 && distinct == received.size() && distinct + failed == ok;
+        System.out.println(pass ? " RESULT         : PASS" : " RESULT         : FAIL (유실/중복/오류)");
+        return pass ? 0 : 1;
+    }
+
+    /** 한 회차: 서로 다른 이메일(prefix + 번호)로 requests 건을 concurrency 개 스레드로 호출 */
+    private static Round round(BenchEnvironment env, String prefix, int requests, int concurrency) throws InterruptedException {
+        URI uri = URI.create("http://localhost:" + env.port() + "/api/auth/email/send");
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        Round r = new Round(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(requests);
+
+        for (int i = 0; i < requests; i++) {
+            final int idx = i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    HttpRequest req = HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(120))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + prefix + idx + "@bench.local\"}"))
+                            .build();
+                    long t0 = System.nanoTime();
+                    HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
+                    r.latencies[idx] = System.nanoTime() - t0;
+                    if (res.statusCode() == 200) r.ok.incrementAndGet();
+                    else r.error(String.valueOf(res.statusCode()));
+                } catch (Exception e) {
+                    r.error(e.getClass().getSimpleName());
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        r.startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        r.respondedNanos = System.nanoTime() - r.startNanos;
+        pool.shutdown();
+        return r;
+    }
+
+    /** 받은 메시지 + 최종 실패 수가 expected 에 이를 때까지 대기 (최대 120초) */
+    private static void awaitDelivered(SmtpStubServer smtp, int expected, IntSupplier failed) throws InterruptedException {
+        long deadline = System.nanoTime() + 120_000_000_000L;
+        while (smtp.messages().size() + failed.getAsInt() < expected && System.nanoTime() < deadline) Thread.sleep(20);
+    }
+
+    private static double count(MeterRegistry registry, String name) {
+        return registry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(i, sorted.length - 1))] / 1e6;
+    }
+
+    private static final class Round {
+        final long[] latencies;
+        final AtomicInteger ok = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final Map<String, AtomicInteger> errorKinds = new ConcurrentSkipListMap<>();
+        long startNanos;
+        long respondedNanos;
+
+        Round(int requests) {
+            this.latencies = new long[requests];
+        }
+
+        void error(String kind) {
+            errors.incrementAndGet();
+            errorKinds.computeIfAbsent(kind, k -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+}
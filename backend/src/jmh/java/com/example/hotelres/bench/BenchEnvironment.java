@@ -0,0 +1,197 @@
+package com.example.hotelres.bench;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.example.hotelres.HotelresBackendApplication;
+import com.example.hotelres.reservation.HoldMode;
+import com.example.hotelres.reservation.dto.HoldDtos.CreateHoldReq;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * ================================================================
+ * BenchEnvironment
+ * ---------------------------------------------------------------
+ *  - 임베디드 MariaDB(MariaDB4j) 기동 → bench/schema.sql 적용 → 데이터 생성 → 애플리케이션 컨텍스트 기동
+ *  - 토스 결제 승인은 TossStubServer(로컬 대역)로 연결 (toss.base-url)
+ *  - 메일 발송은 SmtpStubServer(로컬 SMTP 대역)로 연결 (spring.mail.host/port)
+ *  - 외부 서비스 없이 로컬에서 벤치마크/부하 테스트를 돌리기 위한 공용 환경
+ *  - 데이터: 호텔 hotels 개 x 룸타입 roomTypesPerHotel 개 x 오늘부터 days 일 booking_day
+ *    (hotelId = 1..hotels, roomTypeId = (hotelId-1) * roomTypesPerHotel + 1 ..)
+ * ================================================================
+ */
+public final class BenchEnvironment implements AutoCloseable {
+
+    /** 경합 수준: HOT = 모든 요청이 같은 룸타입, SPREAD = 전체 룸타입에 고르게 분산 */
+    public enum Contention { HOT, SPREAD }
+
+    private final DB db;
+    private final TossStubServer toss;
+    private final SmtpStubServer smtp;
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbc;
+    private final int hotels;
+    private final int roomTypesPerHotel;
+    private final int days;
+
+    private BenchEnvironment(DB db, TossStubServer toss, SmtpStubServer smtp, ConfigurableApplicationContext context,
+                             JdbcTemplate jdbc, int hotels, int roomTypesPerHotel, int days) {
+        this.db = db;
+        this.toss = toss;
+        this.smtp = smtp;
+        this.context = context;
+        this.jdbc = jdbc;
+        this.hotels = hotels;
+        this.roomTypesPerHotel = roomTypesPerHotel;
+        this.days = days;
+    }
+
+    public static BenchEnvironment start(int hotels, int roomTypesPerHotel, int days, int allotment,
+                                         Map<String, Object> properties) throws Exception {
+        // main() 에서 기동 시 devtools 재시작(restartedMain)이 main 을 다시 호출하지 않도록
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        var config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        config.addArg("--user=root");
+        config.addArg("--innodb-buffer-pool-size=256M");
+        DB db = DB.newEmbeddedDB(config.build());
+        db.start();
+
+        // DB 생성은 JDBC 로 (db.createDB 는 mariadb CLI 를 띄우므로 libncurses 가 필요)
+        String server = "jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/";
+        new JdbcTemplate(new DriverManagerDataSource(server, "root", "")).execute("CREATE DATABASE hotelres CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci");
+
+        String url = server + "hotelres";
+        var ds = new DriverManagerDataSource(url, "root", "");
+        new ResourceDatabasePopulator(new ClassPathResource("bench/schema.sql")).execute(ds);
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        seed(jdbc, hotels, roomTypesPerHotel, days, allotment);
+
+        TossStubServer toss = new TossStubServer();
+        SmtpStubServer smtp = new SmtpStubServer();
+
+        Map<String, Object> props = new HashMap<>();
+        props.put("spring.datasource.url", url);
+        props.put("spring.datasource.username", "root");
+        props.put("spring.datasource.password", "");
+        props.put("spring.datasource.hikari.maximum-pool-size", 32);
+        props.put("spring.jpa.hibernate.ddl-auto", "none");
+        props.put("spring.jpa.open-in-view", false);
+        props.put("server.port", 0);
+        props.put("logging.level.root", "WARN");
+        props.put("app.jwt.secret", "bench-secret-bench-secret-bench-secret-0123456789");
+        props.put("app.jwt.access-expiration-ms", 900000);
+        props.put("app.jwt.refresh-expiration-ms", 1209600000);
+        props.put("toss.secret-key", "test_sk_bench");
+        props.put("toss.base-url", toss.baseUrl());
+        props.put("spring.mail.host", "localhost");
+        props.put("spring.mail.port", smtp.port());
+        props.put("spring.mail.username", "bench@localhost");
+        props.put("spring.security.oauth2.client.registration.google.client-id", "bench");
+        props.put("spring.security.oauth2.client.registration.google.client-secret", "bench");
+        props.put("app.reservation.hold-cleanup-cron", "-");
+        props.putAll(properties);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HotelresBackendApplication.class)
+                .properties(props)
+                .run();
+        return new BenchEnvironment(db, toss, smtp, context, jdbc, hotels, roomTypesPerHotel, days);
+    }
+
+    private static void seed(JdbcTemplate jdbc, int hotels, int roomTypesPerHotel, int days, int allotment) {
+        List<Object[]> hotelRows = new ArrayList<>();
+        List<Object[]> roomTypeRows = new ArrayList<>();
+        for (int h = 1; h <= hotels; h++) {
+            hotelRows.add(new Object[]{"호텔 " + h, "region-" + (h % 20)});
+            for (int r = 0; r < roomTypesPerHotel; r++) {
+                roomTypeRows.add(new Object[]{h, "객실 " + r, 100_000 + r * 20_000});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO hotels(name, region) VALUES (?, ?)", hotelRows);
+        jdbc.batchUpdate("INSERT INTO room_types(hotel_id, name, price) VALUES (?, ?, ?)", roomTypeRows);
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> dayRows = new ArrayList<>();
+        for (int h = 1; h <= hotels; h++) {
+            for (int r = 0; r < roomTypesPerHotel; r++) {
+                long roomTypeId = (long) (h - 1) * roomTypesPerHotel + r + 1;
+                for (int d = 0; d < days; d++) {
+                    dayRows.add(new Object[]{h, roomTypeId, Date.valueOf(today.plusDays(d)), allotment, 100_000 + r * 20_000});
+                    if (dayRows.size() == 5000) {
+                        insertDays(jdbc, dayRows);
+                        dayRows.clear();
+                    }
+                }
+            }
+        }
+        insertDays(jdbc, dayRows);
+    }
+
+    private static void insertDays(JdbcTemplate jdbc, List<Object[]> rows) {
+        if (rows.isEmpty()) return;
+        jdbc.batchUpdate("INSERT INTO booking_day(hotel_id, room_type_id, stay_date, allotment, booked, price)"
+                + " VALUES (?, ?, ?, ?, 0, ?)", rows);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public TossStubServer toss() {
+        return toss;
+    }
+
+    public SmtpStubServer smtp() {
+        return smtp;
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbc;
+    }
+
+    public int port() {
+        return context.getEnvironment().getProperty("local.server.port", Integer.class, 0);
+    }
+
+    /** 경합 수준/숙박일수에 맞는 홀드 요청 (체크인은 내일 ~ days-nights 범위 무작위) */
+    public CreateHoldReq holdRequest(Contention contention, int nights, HoldMode holdMode) {
+        var rnd = ThreadLocalRandom.current();
+        long hotelId = 1, roomTypeId = 1;
+        if (contention == Contention.SPREAD) {
+            hotelId = 1 + rnd.nextInt(hotels);
+            roomTypeId = (hotelId - 1) * roomTypesPerHotel + 1 + rnd.nextInt(roomTypesPerHotel);
+        }
+        LocalDate checkIn = LocalDate.now().plusDays(1 + rnd.nextInt(Math.max(1, days - nights - 1)));
+        return CreateHoldReq.builder()
+                .userId(1L)
+                .hotelId(hotelId)
+                .roomTypeId(roomTypeId)
+                .ratePlanId(1L)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(nights))
+                .guests(1)
+                .holdMode(holdMode)
+                .build();
+    }
+
+    @Override
+    public void close() throws Exception {
+        context.close();
+        toss.close();
+        smtp.close();
+        db.stop();
+    }
+}
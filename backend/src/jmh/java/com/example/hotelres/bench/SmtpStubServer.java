@@ -0,0 +1,133 @@
+package com.example.hotelres.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * SmtpStubServer
+ * ---------------------------------------------------------------
+ *  - 메일 발송 검증용 최소 SMTP 서버 (EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP, QUIT)
+ *  - 받은 메시지(수신자 + 원문)를 보관, 연결 수/메시지 수 집계 → 연결 재사용 여부 확인
+ *  - 주입: delayMillis(DATA 응답 지연), failNext(n)(다음 n 건 DATA 에 451 일시 오류)
+ *  - 사용: BenchEnvironment 가 자동 기동하고 spring.mail.host/port 를 이 서버로 지정
+ * ================================================================
+ */
+public final class SmtpStubServer implements AutoCloseable {
+
+    /** 받은 메시지 */
+    public record Received(String recipient, String data) {}
+
+    private final ServerSocket server;
+    private final ExecutorService sessions = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "smtp-stub");
+        t.setDaemon(true);
+        return t;
+    });
+    private final List<Received> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger failNext = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile boolean running = true;
+
+    public SmtpStubServer() throws IOException {
+        server = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        sessions.execute(this::accept);
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    public void delayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    /** 다음 n 건의 DATA 를 451(일시 오류)로 거절 */
+    public void failNext(int n) {
+        failNext.set(n);
+    }
+
+    public List<Received> messages() {
+        return messages;
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                Socket s = server.accept();
+                s.setTcpNoDelay(true);
+                connections.incrementAndGet();
+                sessions.execute(() -> session(s));
+            } catch (IOException e) {
+                if (running) e.printStackTrace();
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost ESMTP stub");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String cmd = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (cmd) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250-8BITMIME\r\n250 SMTPUTF8");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "MAIL" -> { recipient = null; reply(out, "250 OK"); }
+                    case "RCPT" -> { recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>')); reply(out, "250 OK"); }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        String l;
+                        while ((l = in.readLine()) != null && !l.equals(".")) data.append(l).append('\n');
+                        if (delayMillis > 0) Thread.sleep(delayMillis);
+                        if (failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                            reply(out, "451 4.3.0 stub temporary failure");
+                        } else {
+                            messages.add(new Received(recipient, data.toString()));
+                            reply(out, "250 OK queued");
+                        }
+                    }
+                    case "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> { reply(out, "221 Bye"); return; }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // 클라이언트가 연결을 끊음
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(OutputStream out, String text) throws IOException {
+        out.write((text + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        server.close();
+        sessions.shutdownNow();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hotelres.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * TossStubServer
+ * ---------------------------------------------------------------
+ *  - 토스 결제 승인 API(POST /v1/payments/confirm) 로컬 대역. 외부 네트워크 없이 결제 확정 흐름 검증용
+ *  - Idempotency-Key 가 같으면 처음 응답을 그대로 재사용 (토스와 동일한 멱등 동작)
+ *  - 지연(delayMillis)/실패(failNext) 주입 가능, 호출 수 집계
+ *  - 사용: BenchEnvironment 가 자동 기동하고 toss.base-url 을 이 서버로 지정
+ * ================================================================
+ */
+public final class TossStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ObjectMapper om = new ObjectMapper();
+    private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failNext = new AtomicInteger();
+    private volatile long delayMillis;
+
+    public TossStubServer() throws IOException {
+        // 응답 헤더/본문을 나눠 쓰는 JDK HttpServer + Nagle → keep-alive 연결에서 매 요청 ~40ms 지연
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/payments/confirm", this::confirm);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "toss-stub");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void delayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    /** 다음 n 건을 400 으로 거절 */
+    public void failNext(int n) {
+        failNext.set(n);
+    }
+
+    public int calls() {
+        return calls.get();
+    }
+
+    private void confirm(HttpExchange ex) throws IOException {
+        calls.incrementAndGet();
+        try (ex) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> req = om.readValue(ex.getRequestBody(), Map.class);
+            if (delayMillis > 0) Thread.sleep(delayMillis);
+
+            if (failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                send(ex, 400, om.writeValueAsBytes(Map.of("code", "REJECT_CARD_PAYMENT", "message", "stub rejected")));
+                return;
+            }
+            String key = ex.getRequestHeaders().getFirst("Idempotency-Key");
+            byte[] body = responses.computeIfAbsent(key != null ? key : String.valueOf(req.get("orderId")), k -> {
+                try {
+                    return om.writeValueAsBytes(Map.of(
+                            "paymentKey", req.get("paymentKey"),
+                            "orderId", req.get("orderId"),
+                            "totalAmount", req.get("amount"),
+                            "status", "DONE",
+                            "method", "카드",
+                            "approvedAt", OffsetDateTime.now().toString()));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            send(ex, 200, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange ex, int status, byte[] body) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length);
+        ex.getResponseBody().write(body);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
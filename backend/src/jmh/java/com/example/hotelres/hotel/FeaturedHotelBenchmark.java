@@ -0,0 +1,45 @@
+package com.example.hotelres.hotel;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.hotel.dto.FeaturedHotelDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** 특집 호텔 조회 — DB 직접 조회(HotelService) vs 캐시된 직렬화 바이트(FeaturedHotelCache) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+public class FeaturedHotelBenchmark {
+
+    private BenchEnvironment env;
+    private HotelService hotelService;
+    private FeaturedHotelCache featuredHotelCache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        env = BenchEnvironment.start(10, 4, 30, 100, Map.of());
+        hotelService = env.bean(HotelService.class);
+        featuredHotelCache = env.bean(FeaturedHotelCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        env.close();
+    }
+
+    @Benchmark
+    public FeaturedHotelDto featuredQuery() {
+        return hotelService.getHotelWithRoomTypes(2L);
+    }
+
+    @Benchmark
+    public byte[] featuredCached() {
+        return featuredHotelCache.get(2L).json();
+    }
+}
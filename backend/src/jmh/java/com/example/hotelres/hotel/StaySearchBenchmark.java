@@ -0,0 +1,81 @@
+package com.example.hotelres.hotel;
+
+import com.example.hotelres.hotel.dto.StaySearchDto;
+import com.example.hotelres.reservation.BookingDay;
+import com.example.hotelres.reservation.BookingDayStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지역 숙박 검색 — 생성 데이터(호텔 10,000개 x 룸타입 3개 x 60일)를 AvailabilityIndex 에 적재, DB 없음
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class StaySearchBenchmark {
+
+    static final int HOTELS = 10_000;
+    static final int ROOM_TYPES = 3;
+    static final int DAYS = 60;
+
+    @Param({"20", "200"})
+    int regions;
+
+    @Param({"1", "7"})
+    int nights;
+
+    private AvailabilityIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var rnd = ThreadLocalRandom.current();
+        LocalDate base = LocalDate.now();
+        List<Hotel> hotels = new ArrayList<>(HOTELS);
+        List<RoomType> roomTypes = new ArrayList<>(HOTELS * ROOM_TYPES);
+        List<BookingDay> days = new ArrayList<>(HOTELS * ROOM_TYPES * DAYS);
+        long roomTypeId = 0;
+        for (long h = 1; h <= HOTELS; h++) {
+            var hotel = new Hotel();
+            hotel.setId(h);
+            hotel.setName("호텔 " + h);
+            hotel.setRegion("region-" + (h % regions));
+            hotels.add(hotel);
+            for (int r = 0; r < ROOM_TYPES; r++) {
+                var rt = new RoomType();
+                rt.setId(++roomTypeId);
+                rt.setHotel(hotel);
+                rt.setName("객실 " + r);
+                rt.setPrice(100_000);
+                roomTypes.add(rt);
+                for (int d = 0; d < DAYS; d++) {
+                    var bd = new BookingDay();
+                    bd.setHotelId(h);
+                    bd.setRoomTypeId(roomTypeId);
+                    bd.setStayDate(base.plusDays(d));
+                    bd.setAllotment(10);
+                    bd.setBooked(rnd.nextInt(11));
+                    bd.setPrice(80_000 + rnd.nextInt(100) * 1_000);
+                    bd.setStatus(BookingDayStatus.OPEN);
+                    days.add(bd);
+                }
+            }
+        }
+        index = new AvailabilityIndex(null, null, null, null);
+        index.load(base, hotels, roomTypes, days);
+    }
+
+    @Benchmark
+    public List<StaySearchDto.Item> search() {
+        var rnd = ThreadLocalRandom.current();
+        LocalDate checkIn = LocalDate.now().plusDays(rnd.nextInt(DAYS - nights));
+        return index.search("region-" + rnd.nextInt(regions), checkIn, checkIn.plusDays(nights), 1);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.hotelres.payment;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.bench.BenchEnvironment.Contention;
+import com.example.hotelres.reservation.HoldMode;
+import com.example.hotelres.reservation.ReservationService;
+import com.example.hotelres.reservation.dto.HoldDtos.HoldRes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * ConfirmConcurrencyTest (결제 확정 동시성 / 조회 기아 부하 테스트)
+ * ---------------------------------------------------------------
+ *  - 홀드 N 개를 만든 뒤 POST /confirm 을 N 건 동시에 발사, 토스 대역은 delay ms 지연
+ *  - 그동안 GET /api/hotels/{id}/availability 를 readers 개 스레드로 계속 호출
+ *    → 느린 결제 확정이 서블릿 스레드(tomcat)를 점유해 조회가 밀리는지 측정
+ *  - workers = 확정 실행기(PaymentConfirmExecutor) 스레드 수
+ *  - 보고: 확정 성공/실패/처리량/지연, 조회 건수와 p50/p99/max 지연, bookings 건수
+ *  - 검증: 확정 성공 건수 == bookings 건수 (중복/유실 없음)
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.payment.ConfirmConcurrencyTest \
+ *          -Djmh.args="confirms=300 delay=1000 tomcat=50 workers=50 readers=4"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class ConfirmConcurrencyTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int confirms = Integer.parseInt(opts.getOrDefault("confirms", "300"));
+        long delay = Long.parseLong(opts.getOrDefault("delay", "1000"));
+        int tomcat = Integer.parseInt(opts.getOrDefault("tomcat", "50"));
+        int readers = Integer.parseInt(opts.getOrDefault("readers", "4"));
+        int workers = Integer.parseInt(opts.getOrDefault("workers", "50"));
+
+        int exit;
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, 14, confirms * 2, Map.of(
+                "server.tomcat.threads.max", tomcat,
+                "toss.http.max-connections", confirms,
+                "toss.http.max-connections-per-route", confirms,
+                "toss.bulkhead.max-concurrent", confirms,
+                "app.payment.confirm.workers", workers))) {
+            exit = run(env, confirms, delay, readers, tomcat);
+        }
+        System.exit(exit);
+    }
+
+    private static int run(BenchEnvironment env, int confirms, long delay, int readers, int tomcat) throws Exception {
+        ObjectMapper om = env.bean(ObjectMapper.class);
+        ReservationService reservations = env.bean(ReservationService.class);
+        List<byte[]> bodies = new ArrayList<>(confirms);
+        for (int i = 0; i < confirms; i++) {
+            HoldRes hold = reservations.createHold(env.holdRequest(Contention.HOT, 1, HoldMode.PESSIMISTIC));
+            bodies.add(om.writeValueAsBytes(Map.of(
+                    "orderId", "ORD-" + i,
+                    "paymentKey", "pk-" + i,
+                    "amount", hold.getTotalAmount(),
+                    "holdCode", hold.getHoldCode(),
+                    "guestName", "게스트" + i)));
+        }
+        env.toss().delayMillis(delay);
+
+        String base = "http://localhost:" + env.port();
+        URI confirmUri = URI.create(base + "/confirm");
+        LocalDate from = LocalDate.now().plusDays(1);
+        URI readUri = URI.create(base + "/api/hotels/1/availability?from=" + from + "&to=" + from.plusDays(3));
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        // 조회 스레드: 확정 부하가 도는 동안 계속 조회
+        AtomicBoolean reading = new AtomicBoolean(true);
+        List<Long> readLatencies = java.util.Collections.synchronizedList(new ArrayList<>());
+        ExecutorService readerPool = Executors.newFixedThreadPool(readers);
+        for (int r = 0; r < readers; r++) {
+            readerPool.execute(() -> {
+                while (reading.get()) {
+                    long t0 = System.nanoTime();
+                    try {
+                        http.send(HttpRequest.newBuilder(readUri).timeout(Duration.ofSeconds(60)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                    } catch (Exception ignored) {
+                        // 지연만 측정
+                    }
+                    readLatencies.add(System.nanoTime() - t0);
+                }
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(confirms);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long[] latencies = new long[confirms];
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(confirms);
+        for (int i = 0; i < confirms; i++) {
+            final int idx = i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    HttpRequest req = HttpRequest.newBuilder(confirmUri)
+                            .timeout(Duration.ofSeconds(120))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(bodies.get(idx)))
+                            .build();
+                    long t0 = System.nanoTime();
+                    HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
+                    latencies[idx] = System.nanoTime() - t0;
+                    if (res.statusCode() == 200) ok.incrementAndGet();
+                    else failed.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        Thread.sleep(500); // 조회 기준선 확보
+        int readsBefore = readLatencies.size();
+        long t0 = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - t0;
+        reading.set(false);
+        pool.shutdown();
+        readerPool.shutdown();
+        readerPool.awaitTermination(60, TimeUnit.SECONDS);
+
+        long[] reads;
+        synchronized (readLatencies) {
+            reads = readLatencies.subList(readsBefore, readLatencies.size()).stream().mapToLong(Long::longValue).toArray();
+        }
+        Arrays.sort(reads);
+        Arrays.sort(latencies);
+        Integer bookings = env.jdbc().queryForObject("SELECT COUNT(*) FROM bookings", Integer.class);
+
+        System.out.printf("""
+
+                ===== ConfirmConcurrencyTest confirms=%d toss-delay=%dms tomcat-threads=%d readers=%d =====
+                 confirm        : ok %d / failed %d in %.2f s (%.1f req/s)
+                 confirm latency: p50 %.1f ms / p99 %.1f ms / max %.1f ms
+                 reads during   : %d (%.1f req/s)
+                 read latency   : p50 %.1f ms / p99 %.1f ms / max %.1f ms
+                 bookings       : %d
+                """,
+                confirms, delay, tomcat, readers,
+                ok.get(), failed.get(), elapsed / 1e9, confirms / (elapsed / 1e9),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[confirms - 1] / 1e6,
+                reads.length, reads.length / (elapsed / 1e9),
+                percentile(reads, 0.50), percentile(reads, 0.99), reads.length == 0 ? 0 : reads[reads.length - 1] / 1e6,
+                bookings);
+
+        boolean pass = bookings == ok.get();
+        System.out.println(pass ? " RESULT         : PASS" : " RESULT         : FAIL (예약 건수 불일치)");
+        return pass ? 0 : 1;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(i, sorted.length - 1))] / 1e6;
+    }
+}
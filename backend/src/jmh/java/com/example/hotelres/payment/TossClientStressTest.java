@@ -0,0 +1,150 @@
+package com.example.hotelres.payment;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.bench.TossStubServer;
+import com.example.hotelres.payment.dto.ConfirmRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * TossClientStressTest (토스 클라이언트 타임아웃/벌크헤드/서킷 검증)
+ * ---------------------------------------------------------------
+ *  - TossStubServer 에 지연을 주입하며 TossClient.confirm 을 동시에 호출
+ *    1) healthy : 지연 stubDelay → 오류 없음, 풀 연결 수 <= 라우트당 최대 (keep-alive 재사용)
+ *                 concurrency > 벌크헤드(16) 이면 대기 한도를 넘긴 초과분은 거절될 수 있음
+ *    2) slow    : 지연 > 응답 타임아웃 → 타임아웃이 쌓여 서킷 OPEN, 이후 호출은 즉시 거절
+ *                 최대 지연이 (응답 타임아웃 + 벌크헤드 대기) 근처로 묶이는지 확인
+ *    3) probe   : 지연 제거 + openMs 대기 → HALF_OPEN 시험 호출(순차) 성공 → CLOSED
+ *    4) recover : 닫힌 서킷으로 다시 전량 성공
+ *  - 보고: 단계별 성공/거절/오류, p50/p99/max 지연, 서킷 상태, 풀 메트릭
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.payment.TossClientStressTest \
+ *          -Djmh.args="calls=400 concurrency=16 delay=20"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class TossClientStressTest {
+
+    private static final long READ_TIMEOUT_MS = 300;
+    private static final long OPEN_MS = 2000;
+    private static final int HALF_OPEN_CALLS = 3;
+    private static final int BULKHEAD = 16;
+
+    private record Phase(String name, int ok, int rejected, int errors, double p50, double p99, double max) {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int calls = Integer.parseInt(opts.getOrDefault("calls", "400"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "16"));
+        long stubDelay = Long.parseLong(opts.getOrDefault("delay", "20"));
+
+        int exit;
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, 7, 10, Map.of(
+                "toss.http.read-timeout-ms", READ_TIMEOUT_MS,
+                "toss.http.max-connections-per-route", BULKHEAD,
+                "toss.bulkhead.max-concurrent", BULKHEAD,
+                "toss.bulkhead.max-wait-ms", 200,
+                "toss.circuit.open-ms", OPEN_MS,
+                "toss.circuit.half-open-calls", HALF_OPEN_CALLS))) {
+            exit = run(env, calls, concurrency, stubDelay);
+        }
+        System.exit(exit);
+    }
+
+    private static int run(BenchEnvironment env, int calls, int concurrency, long stubDelay) throws Exception {
+        TossClient client = env.bean(TossClient.class);
+        TossCircuitBreaker circuit = env.bean(TossCircuitBreaker.class);
+        MeterRegistry registry = env.bean(MeterRegistry.class);
+        TossStubServer stub = env.toss();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+
+        stub.delayMillis(stubDelay);
+        Phase healthy = phase("healthy", client, pool, calls);
+        double poolMax = registry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "toss").gauge().value();
+        double poolOpened = registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "toss").tag("state", "available").gauge().value();
+
+        stub.delayMillis(READ_TIMEOUT_MS * 3);
+        Phase slow = phase("slow", client, pool, calls);
+        TossCircuitBreaker.State afterSlow = circuit.state();
+
+        stub.delayMillis(0);
+        Thread.sleep(OPEN_MS + 100);
+        Phase probe = phase("probe", client, Executors.newSingleThreadExecutor(), HALF_OPEN_CALLS);
+        Phase recover = phase("recover", client, pool, calls);
+        TossCircuitBreaker.State afterRecover = circuit.state();
+        pool.shutdown();
+
+        System.out.printf("%n===== TossClientStressTest calls=%d concurrency=%d read-timeout=%dms =====%n",
+                calls, concurrency, READ_TIMEOUT_MS);
+        for (Phase p : List.of(healthy, slow, probe, recover)) {
+            System.out.printf(" %-8s: ok %4d / rejected %4d / errors %4d | p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms%n",
+                    p.name(), p.ok(), p.rejected(), p.errors(), p.p50(), p.p99(), p.max());
+        }
+        System.out.printf(" pool          : %.0f idle connections kept (max %.0f)%n", poolOpened, poolMax);
+        System.out.printf(" circuit       : after slow %s, after recover %s%n", afterSlow, afterRecover);
+        System.out.printf(" stub calls    : %d%n", stub.calls());
+
+        boolean withinBulkhead = concurrency <= BULKHEAD;
+        boolean pass = healthy.errors() == 0 && poolOpened <= BULKHEAD
+                && (!withinBulkhead || healthy.rejected() == 0 && recover.rejected() == 0)
+                && afterSlow == TossCircuitBreaker.State.OPEN && slow.rejected() > 0
+                && slow.max() < READ_TIMEOUT_MS + 200 + 500
+                && probe.ok() == HALF_OPEN_CALLS
+                && afterRecover == TossCircuitBreaker.State.CLOSED && recover.errors() == 0;
+        System.out.println(pass ? " RESULT        : PASS" : " RESULT        : FAIL");
+        return pass ? 0 : 1;
+    }
+
+    private static Phase phase(String name, TossClient client, ExecutorService pool, int calls) throws Exception {
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[calls];
+        List<Future<?>> futures = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            final int idx = i;
+            futures.add(pool.submit(() -> {
+                ConfirmRequest req = new ConfirmRequest();
+                req.setOrderId(name + "-" + idx);
+                req.setPaymentKey("pk-" + name + "-" + idx);
+                req.setAmount(100_000);
+                long t0 = System.nanoTime();
+                try {
+                    client.confirm(req);
+                    ok.incrementAndGet();
+                } catch (PaymentGatewayUnavailableException e) {
+                    rejected.incrementAndGet();
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                } finally {
+                    latencies[idx] = System.nanoTime() - t0;
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        Arrays.sort(latencies);
+        return new Phase(name, ok.get(), rejected.get(), errors.get(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[calls - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(i, sorted.length - 1))] / 1e6;
+    }
+}
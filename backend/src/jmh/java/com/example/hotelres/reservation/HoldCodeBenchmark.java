@@ -0,0 +1,32 @@
+package com.example.hotelres.reservation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 홀드 코드 생성 비용 — HoldCodeGenerator(시간+노드+시퀀스 + SecureRandom 80비트, DB 조회 없음)
+ *  - 단일 스레드 / 8 스레드 동시 발급(시퀀스 CAS + SecureRandom 경합)
+ *  - 이전 방식(UUID 앞 8자리 + existsByHoldCode 쿼리)은 발급마다 DB 왕복 1회가 더해졌음
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class HoldCodeBenchmark {
+
+    private final HoldCodeGenerator generator = new HoldCodeGenerator(1);
+
+    @Benchmark
+    public String generateHoldCode() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateHoldCodeContended() {
+        return generator.next();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.hotelres.reservation;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.bench.BenchEnvironment.Contention;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * HoldLoadTest (동시성/경합 부하 테스트)
+ * ---------------------------------------------------------------
+ *  - 임베디드 MariaDB + 애플리케이션을 띄우고 POST /api/reservations/hold 를 동시에 N 건 발사
+ *  - 모든 요청이 같은 룸타입(HOT), 짧은 판매 기간 안의 겹치는 날짜 구간 → 최대 경합
+ *  - 재고(allotment)는 요청 수보다 작게 두어 매진 경계에서의 초과판매 여부를 확인
+ *  - 검증: 모든 booking_day 행 booked <= allotment, booked == 해당 일자를 포함한 홀드 수량 합
+ *  - 보고: 처리량, p50/p99 지연, 성공/매진/데드락·락타임아웃/기타 오류 건수, Innodb_deadlocks 증가분
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.reservation.HoldLoadTest \
+ *          -Djmh.args="requests=5000 concurrency=200 mode=PESSIMISTIC nights=3 allotment=300"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class HoldLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int requests = Integer.parseInt(opts.getOrDefault("requests", "5000"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "200"));
+        HoldMode mode = HoldMode.valueOf(opts.getOrDefault("mode", "PESSIMISTIC"));
+        int nights = Integer.parseInt(opts.getOrDefault("nights", "3"));
+        int allotment = Integer.parseInt(opts.getOrDefault("allotment", "300"));
+        int days = Integer.parseInt(opts.getOrDefault("days", "14"));
+
+        int exit;
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, days, allotment,
+                Map.of("app.reservation.hold-mode", mode.name(),
+                       "server.tomcat.threads.max", Math.max(200, concurrency)))) {
+            exit = run(env, requests, concurrency, mode, nights);
+        }
+        System.exit(exit);
+    }
+
+    private static int run(BenchEnvironment env, int requests, int concurrency, HoldMode mode, int nights)
+            throws Exception {
+        ObjectMapper om = env.bean(ObjectMapper.class);
+        URI uri = URI.create("http://localhost:" + env.port() + "/api/reservations/hold");
+        // Java 17: 플랫폼 스레드 풀로 동시성 상한을 둔다 (동시 in-flight = concurrency)
+        //  HttpClient 는 기본 내부 executor 사용 — 같은 풀을 주면 send() 로 막힌 스레드끼리 교착
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long deadlocksBefore = innodbDeadlocks(env);
+        long[] latencies = new long[requests];
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        AtomicInteger lockFailures = new AtomicInteger();
+        AtomicInteger otherErrors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(requests);
+
+        for (int i = 0; i < requests; i++) {
+            final int idx = i;
+            final byte[] body = om.writeValueAsBytes(env.holdRequest(Contention.HOT, nights, mode));
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    HttpRequest req = HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(60))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                            .build();
+                    long t0 = System.nanoTime();
+                    HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
+                    latencies[idx] = System.nanoTime() - t0;
+                    classify(res.statusCode(), res.body(), ok, soldOut, lockFailures, otherErrors);
+                } catch (Exception e) {
+                    otherErrors.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - t0;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        // LEDGER 모드는 booked 반영이 비동기 → 검증 전에 강제 flush
+        InventoryLedger ledger = env.bean(InventoryLedger.class);
+        if (ledger.isEnabled()) ledger.flush();
+
+        long deadlocks = innodbDeadlocks(env) - deadlocksBefore;
+        Integer oversold = env.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM booking_day WHERE booked > allotment", Integer.class);
+        Integer mismatched = env.jdbc().queryForObject("""
+                SELECT COUNT(*) FROM booking_day bd
+                 WHERE bd.booked <> (SELECT COALESCE(SUM(h.guests), 0) FROM booking_holds h
+                                      WHERE h.hotel_id = bd.hotel_id AND h.room_type_id = bd.room_type_id
+                                        AND h.check_in <= bd.stay_date AND h.check_out > bd.stay_date)
+                """, Integer.class);
+
+        Arrays.sort(latencies);
+        System.out.printf("""
+
+                ===== HoldLoadTest mode=%s requests=%d concurrency=%d nights=%d =====
+                 throughput     : %.1f req/s (%.2f s)
+                 latency        : p50 %.1f ms / p99 %.1f ms / max %.1f ms
+                 ok             : %d
+                 sold out       : %d
+                 deadlock/lock  : %d (Innodb_deadlocks +%d)
+                 other errors   : %d
+                 oversold rows  : %d
+                 booked!=holds  : %d
+                """,
+                mode, requests, concurrency, nights,
+                requests / (elapsed / 1e9), elapsed / 1e9,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[requests - 1] / 1e6,
+                ok.get(), soldOut.get(), lockFailures.get(), deadlocks, otherErrors.get(),
+                oversold, mismatched);
+
+        boolean pass = oversold == 0 && mismatched == 0;
+        System.out.println(pass ? " RESULT         : PASS" : " RESULT         : FAIL (초과판매/불일치)");
+        return pass ? 0 : 1;
+    }
+
+    /** 응답 분류: 매진은 500 + 예외 클래스명, 재시도 소진된 락 실패는 503 */
+    private static void classify(int status, String body, AtomicInteger ok, AtomicInteger soldOut,
+                                 AtomicInteger lockFailures, AtomicInteger otherErrors) {
+        if (status == 200) ok.incrementAndGet();
+        else if (body.contains("SoldOut")) soldOut.incrementAndGet();
+        else if (status == 503) lockFailures.incrementAndGet();
+        else otherErrors.incrementAndGet();
+    }
+
+    private static long innodbDeadlocks(BenchEnvironment env) {
+        return env.jdbc().query("SHOW GLOBAL STATUS LIKE 'Innodb_deadlocks'",
+                rs -> rs.next() ? rs.getLong(2) : 0L);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(i, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.hotelres.reservation;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.bench.BenchEnvironment.Contention;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 홀드 해제 비용 — 반복(iteration)마다 HOLDS 개의 홀드를 미리 만들어 두고
+ *  - cancelHoldByCode: HOLDS 건을 하나씩 취소하는 총 시간
+ *  - releaseExpiredHolds: HOLDS 건을 만료 처리해 두고 1회 일괄 해제하는 시간
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class HoldReleaseBenchmark {
+
+    static final int HOLDS = 2000;
+
+    @State(Scope.Benchmark)
+    public static class Env {
+        @Param({"HOT", "SPREAD"})
+        Contention contention;
+
+        @Param({"1", "7"})
+        int nights;
+
+        @Param({"PESSIMISTIC", "LEDGER"})
+        HoldMode holdMode;
+
+        BenchEnvironment env;
+        ReservationService reservationService;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            env = BenchEnvironment.start(50, 4, 120, 1_000_000,
+                    Map.of("app.reservation.hold-mode", holdMode.name()));
+            reservationService = env.bean(ReservationService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            env.close();
+        }
+
+        Deque<String> createHolds() {
+            Deque<String> codes = new ArrayDeque<>(HOLDS);
+            for (int i = 0; i < HOLDS; i++) {
+                codes.add(reservationService.createHold(env.holdRequest(contention, nights, holdMode)).getHoldCode());
+            }
+            return codes;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CancelState {
+        Deque<String> codes;
+
+        @Setup(Level.Iteration)
+        public void prepare(Env env) {
+            codes = env.createHolds();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ExpiredState {
+        @Setup(Level.Iteration)
+        public void prepare(Env env) {
+            env.createHolds();
+            env.env.jdbc().update("UPDATE booking_holds SET expires_at = NOW() - INTERVAL 1 MINUTE");
+        }
+    }
+
+    @Benchmark
+    @Measurement(iterations = 5, batchSize = HOLDS)
+    @Warmup(iterations = 2, batchSize = HOLDS)
+    public void cancelHoldByCode(Env env, CancelState state) {
+        env.reservationService.cancelHoldByCode(state.codes.poll());
+    }
+
+    @Benchmark
+    public int releaseExpiredHolds(Env env, ExpiredState state) {
+        return env.reservationService.releaseExpiredHolds();
+    }
+}
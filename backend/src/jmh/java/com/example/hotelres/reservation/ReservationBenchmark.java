@@ -0,0 +1,56 @@
+package com.example.hotelres.reservation;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.bench.BenchEnvironment.Contention;
+import com.example.hotelres.reservation.dto.HoldDtos.HoldRes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 홀드 생성 처리량 — 경합 수준(HOT/SPREAD) x 숙박일수 x 재고 확보 방식
+ *  - 8 스레드 동시 호출, 재고는 충분히 크게 두어 매진 없이 락 경합만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+public class ReservationBenchmark {
+
+    @Param({"HOT", "SPREAD"})
+    Contention contention;
+
+    @Param({"1", "3", "7"})
+    int nights;
+
+    @Param({"PESSIMISTIC", "CONDITIONAL", "LEDGER"})
+    HoldMode holdMode;
+
+    private BenchEnvironment env;
+    private ReservationService reservationService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        env = BenchEnvironment.start(50, 4, 120, 1_000_000,
+                Map.of("app.reservation.hold-mode", holdMode.name()));
+        reservationService = env.bean(ReservationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        env.close();
+    }
+
+    @Benchmark
+    public HoldRes createHold() {
+        try {
+            return reservationService.createHold(env.holdRequest(contention, nights, holdMode));
+        } catch (SoldOutException e) {
+            return null;
+        }
+    }
+}
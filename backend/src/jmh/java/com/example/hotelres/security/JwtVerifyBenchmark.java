@@ -0,0 +1,60 @@
+package com.example.hotelres.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer 토큰 1건 검증 비용 (JwtAuthFilter 가 요청마다 하는 일, 사용자 조회 제외)
+ *  - legacy     : 이전 방식 — 타입 확인(isAccessToken)과 사용자 추출(parse)이 각각 파서를 새로 만들어 HMAC + JSON 디코딩 2회
+ *  - singleParse: 미리 만든 파서로 1회 검증 (JwtUtil.parseAccess)
+ *  - cached     : AccessTokenVerifier — 같은 토큰 재요청은 캐시 조회만
+ *  헤더에서 잘라낸 새 문자열로 검증 (필터와 동일: 요청마다 토큰 String 이 새로 생김)
+ *  할당량 비교: -Djmh.args="JwtVerifyBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "bench-secret-bench-secret-bench-secret-0123456789";
+
+    private Key key;
+    private JwtUtil jwt;
+    private AccessTokenVerifier verifier;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        jwt = new JwtUtil(SECRET, 3_600_000, 1_209_600_000);
+        verifier = new AccessTokenVerifier(jwt, new SimpleMeterRegistry(), 10_000);
+        header = "Bearer " + jwt.generateAccess("bench-user", "ROLE_USER");
+    }
+
+    @Benchmark
+    public String legacy() {
+        String token = header.substring(7);
+        Claims c = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        if (!"access".equals(c.get("type"))) throw new IllegalStateException();
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return jwt.parseAccess(header.substring(7)).subject();
+    }
+
+    @Benchmark
+    public String cached() {
+        return verifier.verify(header.substring(7)).subject();
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.hotelres.security;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.security.RefreshTokenStore.Outcome;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/*
+ * ================================================================
+ * RefreshTokenLoadTest (refresh 토큰 패밀리 저장소: 수백만 세션 규모 검증)
+ * ---------------------------------------------------------------
+ *  - seed : refresh_token_families 에 sessions 행 (MariaDB seq 엔진으로 한 문장 INSERT)
+ *  - 저장소 공개 API(rotate) 직접 호출 (concurrency 스레드). 단계마다 처리량, p50/p99, 요청당 DB 문장 수(Com_select/Com_update)
+ *      warm        : 앞쪽 hot 개 패밀리 회전 (세대 0, 전부 미적재) → ROTATED, SELECT 1 / UPDATE 1
+ *                    → 회전 결과로 핫 티어가 채워짐, 단계 전후 힙 차이로 항목당 힙 측정
+ *    이후 단계는 sample 개 토큰:
+ *      rotate-hot  : 핫 티어에 있는 패밀리 회전 (세대 1)  → ROTATED, SELECT 0 / UPDATE 1
+ *      grace       : 같은 세대 1 토큰 다시 (유예 안)     → ROTATED(현재 세대 재발급), SELECT 1 / UPDATE 0
+ *      rotate-hot-2: 세대 2 토큰으로 한 번 더 회전       → ROTATED, SELECT 0 / UPDATE 1
+ *      rotate-cold : 핫 티어에 없는 패밀리 회전          → ROTATED, SELECT 1 / UPDATE 1
+ *      replay      : 두 세대 지난 세대 1 토큰 재사용     → REUSED, SELECT 0 / UPDATE 1 (패밀리 무효)
+ *      replay-2    : 같은 토큰 한 번 더                 → REVOKED, DB 문장 0 (메모리에서 거절)
+ *  - HTTP 시나리오: 로그인 → 회전 2회 → 직전 토큰(다른 탭) 200 → 두 세대 전 토큰 401 REFRESH_REUSED → 최신 토큰도 401,
+ *                  로그아웃한 토큰 401, 비밀번호 재설정 전 발급 토큰 401
+ *  - 검증: 모든 단계의 결과/문장 수 + HTTP 시나리오
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.security.RefreshTokenLoadTest \
+ *          -Djmh.args="sessions=2000000 hot=100000 sample=20000 concurrency=8"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class RefreshTokenLoadTest {
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int sessions = Integer.parseInt(opts.getOrDefault("sessions", "2000000"));
+        int hotCount = Integer.parseInt(opts.getOrDefault("hot", String.valueOf(Math.min(100_000, sessions / 2))));
+        int sample = Integer.parseInt(opts.getOrDefault("sample", "20000"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "8"));
+
+        Map<String, Object> props = Map.of(
+                "app.jwt.refresh.hot-max-entries", sessions,
+                "app.jwt.refresh.reuse-grace-ms", 600_000,     // grace 단계가 rotate-hot 직후 유예 안에 끝나도록
+                "app.outbox.poll-interval-ms", 3_600_000);   // 배경 SELECT 가 문장 수 집계에 섞이지 않도록
+        boolean pass = true;
+        try (BenchEnvironment env = BenchEnvironment.start(1, 1, 7, 10, props)) {
+            JdbcTemplate jdbc = env.jdbc();
+            RefreshTokenStore store = env.bean(RefreshTokenStore.class);
+            JwtUtil jwt = env.bean(JwtUtil.class);
+
+            // ---- seed ----
+            long t0 = System.nanoTime();
+            jdbc.update("INSERT INTO refresh_token_families(family_id, login_id, generation, expires_at, created_at)"
+                    + " SELECT seq, CONCAT('u', seq % 200000), 0, NOW(6) + INTERVAL 14 DAY, NOW(6) FROM seq_1_to_" + sessions);
+            double seedSec = (System.nanoTime() - t0) / 1e9;
+
+            System.out.printf("""
+
+                    ===== RefreshTokenLoadTest sessions=%d hot=%d sample=%d concurrency=%d =====
+                     seed           : %d families in %.1f s
+                    """,
+                    sessions, hotCount, sample, concurrency, sessions, seedSec);
+
+            // ---- hot tier: 앞쪽 hot 개 패밀리를 회전해 적재 (토큰은 요청마다 생성 → 목록 힙이 측정에 섞이지 않음) ----
+            long before = usedHeap();
+            pass &= phase("warm", jdbc, store, hotCount, i -> token(jwt, i + 1, 0), concurrency, Outcome.ROTATED, 1, 1);
+            long hotBytes = usedHeap() - before;
+            System.out.printf(" hot tier       : %d entries, %.1f MB (%.0f B/entry)%n",
+                    store.hotSize(), hotBytes / 1048576.0, (double) hotBytes / hotCount);
+
+            // ---- 토큰 준비 ----
+            SplittableRandom rnd = new SplittableRandom(42);
+            Set<Long> hotIds = distinct(rnd, sample, 1, hotCount);
+            List<String> hotTokens = tokens(jwt, hotIds, 1);
+            List<String> coldTokens = tokens(jwt, distinct(rnd, sample, hotCount + 1, sessions), 0);
+
+            pass &= phase("rotate-hot", jdbc, store, hotTokens, concurrency, Outcome.ROTATED, 0, 1);
+            pass &= phase("grace", jdbc, store, hotTokens, concurrency, Outcome.ROTATED, 1, 0);
+            pass &= phase("rotate-hot-2", jdbc, store, tokens(jwt, hotIds, 2), concurrency, Outcome.ROTATED, 0, 1);
+            pass &= phase("rotate-cold", jdbc, store, coldTokens, concurrency, Outcome.ROTATED, 1, 1);
+            pass &= phase("replay", jdbc, store, hotTokens, concurrency, Outcome.REUSED, 0, 1);
+            pass &= phase("replay-2", jdbc, store, hotTokens, concurrency, Outcome.REVOKED, 0, 0);
+
+            pass &= http(env);
+        }
+        System.out.println(pass ? " RESULT         : PASS" : " RESULT         : FAIL");
+        System.exit(pass ? 0 : 1);
+    }
+
+    private static boolean phase(String name, JdbcTemplate jdbc, RefreshTokenStore store, List<String> tokens,
+                                 int concurrency, Outcome expected, double selectsPerOp, double updatesPerOp)
+            throws Exception {
+        return phase(name, jdbc, store, tokens.size(), tokens::get, concurrency, expected, selectsPerOp, updatesPerOp);
+    }
+
+    private static boolean phase(String name, JdbcTemplate jdbc, RefreshTokenStore store, int n, IntFunction<String> tokens,
+                                 int concurrency, Outcome expected, double selectsPerOp, double updatesPerOp)
+            throws Exception {
+        long[] latencies = new long[n];
+        Map<Outcome, AtomicInteger> outcomes = new EnumMap<>(Outcome.class);
+        for (Outcome o : Outcome.values()) outcomes.put(o, new AtomicInteger());
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(n);
+
+        Map<String, Long> before = statements(jdbc);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            final int idx = i;
+            pool.execute(() -> {
+                try {
+                    String token = tokens.apply(idx);
+                    long s = System.nanoTime();
+                    outcomes.get(store.rotate(token).outcome()).incrementAndGet();
+                    latencies[idx] = System.nanoTime() - s;
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        pool.shutdown();
+        Map<String, Long> after = statements(jdbc);
+        double selects = (double) (after.get("Com_select") - before.get("Com_select")) / n;
+        double updates = (double) (after.get("Com_update") - before.get("Com_update")) / n;
+
+        Arrays.sort(latencies);
+        boolean ok = errors.get() == 0 && outcomes.get(expected).get() == n
+                && Math.abs(selects - selectsPerOp) < 0.01 && Math.abs(updates - updatesPerOp) < 0.01;
+        System.out.printf(" %-14s : %.0f ops/s, p50 %.1f us / p99 %.1f us, %s %d/%d, %.2f SELECT + %.2f UPDATE per op  %s%n",
+                name, n / seconds, latencies[n / 2] / 1e3, latencies[(int) (n * 0.99) - 1] / 1e3,
+                expected, outcomes.get(expected).get(), n, selects, updates, ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    private static boolean http(BenchEnvironment env) throws Exception {
+        String base = "http://localhost:" + env.port();
+        env.jdbc().update("INSERT INTO users(login_id, password_hash, name, email, status, role)"
+                        + " VALUES ('bench', ?, '벤치', 'bench@bench.local', 'ACTIVE', 'ROLE_USER')",
+                new BCryptPasswordEncoder().encode("pw1234!"));
+
+        String rt0 = login(base, "pw1234!");
+        HttpResponse<String> r1 = refresh(base, rt0);
+        String rt1 = cookie(r1);
+        HttpResponse<String> r2 = refresh(base, rt1);
+        String rt2 = cookie(r2);
+        HttpResponse<String> tab = refresh(base, rt1);      // 다른 탭의 동시 refresh (유예 안)
+        HttpResponse<String> reuse = refresh(base, rt0);
+        HttpResponse<String> afterReuse = refresh(base, rt2);
+
+        String rt3 = login(base, "pw1234!");
+        int logout = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/logout"))
+                        .header("Cookie", "refreshToken=" + rt3).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        int afterLogout = refresh(base, rt3).statusCode();
+
+        String rt4 = login(base, "pw1234!");
+        int reset = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/reset-password"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"bench@bench.local\",\"newPassword\":\"pw5678!\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        int afterReset = refresh(base, rt4).statusCode();
+
+        boolean ok = r1.statusCode() == 200 && r2.statusCode() == 200 && !rt1.equals(rt2) && tab.statusCode() == 200
+                && reuse.statusCode() == 401 && reuse.body().contains("REFRESH_REUSED")
+                && afterReuse.statusCode() == 401
+                && logout == 200 && afterLogout == 401 && reset == 200 && afterReset == 401;
+        System.out.printf(" http           : rotate %d/%d, other tab %d, reuse %d %s, latest after reuse %d, logout %d -> %d,"
+                        + " reset %d -> %d  %s%n",
+                r1.statusCode(), r2.statusCode(), tab.statusCode(), reuse.statusCode(), reuse.body(), afterReuse.statusCode(),
+                logout, afterLogout, reset, afterReset, ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    private static String login(String base, String password) throws Exception {
+        HttpResponse<String> res = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"loginId\":\"bench\",\"password\":\"" + password + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() != 200) throw new IllegalStateException("login failed: " + res.statusCode() + " " + res.body());
+        return cookie(res);
+    }
+
+    private static HttpResponse<String> refresh(String base, String refreshToken) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/refresh"))
+                .header("Cookie", "refreshToken=" + refreshToken).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String cookie(HttpResponse<?> res) {
+        for (String c : res.headers().allValues("Set-Cookie")) {
+            if (c.startsWith("refreshToken=")) return c.substring("refreshToken=".length(), c.indexOf(';'));
+        }
+        return "";
+    }
+
+    private static Set<Long> distinct(SplittableRandom rnd, int count, long from, long to) {
+        Set<Long> ids = new LinkedHashSet<>();
+        while (ids.size() < count) ids.add(rnd.nextLong(from, to + 1));
+        return ids;
+    }
+
+    private static List<String> tokens(JwtUtil jwt, Set<Long> ids, int generation) {
+        return ids.stream().map(id -> token(jwt, id, generation)).toList();
+    }
+
+    private static String token(JwtUtil jwt, long id, int generation) {
+        return jwt.generateRefresh("u" + (id % 200000), id, generation);
+    }
+
+    private static Map<String, Long> statements(JdbcTemplate jdbc) {
+        Map<String, Long> m = new ConcurrentHashMap<>();
+        jdbc.query("SHOW GLOBAL STATUS WHERE Variable_name IN ('Com_select', 'Com_update')",
+                rs -> { m.put(rs.getString(1), rs.getLong(2)); });
+        return m;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.hotelres.security;
+
+import com.example.hotelres.bench.BenchEnvironment;
+import com.example.hotelres.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * StatelessAuthLoadTest (Bearer 인증 요청당 users 조회 수 + 무효화 검증)
+ * ---------------------------------------------------------------
+ *  - app.jwt.stateless-principal=false(users 조회) / true(클레임) 두 모드로 각각 기동
+ *  - 로그인해서 받은 access 토큰으로 GET /api/hotels/1/featured (캐시 hit → 인증 외 쿼리 없음) 를 requests 건 호출
+ *  - 보고: 처리량, p50/p99, 요청당 User 엔티티 로드 수 / JDBC 문장 수 (Hibernate 통계)
+ *  - 클레임 모드에서 추가 검증:
+ *      비밀번호 재설정 → 기존 토큰으로 /api/me 401 → 곧바로(같은 초) 재로그인한 토큰 200
+ *      로그인 5회 실패로 잠금 → 재로그인 토큰도 401
+ *  - 검증: 클레임 모드 요청당 User 로드 0 + 무효화 시나리오 통과
+ *
+ *  실행: ./mvnw -Pjmh -DskipTests test-compile exec:exec \
+ *          -Djmh.main=com.example.hotelres.security.StatelessAuthLoadTest \
+ *          -Djmh.args="requests=3000 concurrency=16"
+ *  검증 실패 시 종료 코드 1
+ * ================================================================
+ */
+public final class StatelessAuthLoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) opts.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        int requests = Integer.parseInt(opts.getOrDefault("requests", "3000"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "16"));
+
+        boolean pass = true;
+        for (boolean stateless : new boolean[]{false, true}) {
+            Map<String, Object> props = Map.of(
+                    "app.jwt.stateless-principal", stateless,
+                    "spring.jpa.properties.hibernate.generate_statistics", true);
+            try (BenchEnvironment env = BenchEnvironment.start(1, 1, 7, 10, props)) {
+                pass &= run(env, stateless, requests, concurrency);
+            }
+        }
+        System.out.println(pass ? " RESULT         : PASS" : " RESULT         : FAIL");
+        System.exit(pass ? 0 : 1);
+    }
+
+    private static boolean run(BenchEnvironment env, boolean stateless, int requests, int concurrency) throws Exception {
+        String base = "http://localhost:" + env.port();
+        env.jdbc().update("INSERT INTO users(login_id, password_hash, name, email, status, role)"
+                        + " VALUES ('bench', ?, '벤치', 'bench@bench.local', 'ACTIVE', 'ROLE_USER')",
+                new BCryptPasswordEncoder().encode("pw1234!"));
+        String token = login(base, "pw1234!");
+        for (int i = 0; i < 50; i++) get(base + "/api/hotels/1/featured", token); // 캐시 적재 + 워밍업
+
+        Statistics stats = env.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            final int idx = i;
+            pool.execute(() -> {
+                try {
+                    long s = System.nanoTime();
+                    if (get(base + "/api/hotels/1/featured", token) != 200) errors.incrementAndGet();
+                    latencies[idx] = System.nanoTime() - s;
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        pool.shutdown();
+        long userLoads = stats.getEntityStatistics(User.class.getName()).getLoadCount();
+        long statements = stats.getPrepareStatementCount();
+
+        Arrays.sort(latencies);
+        System.out.printf("""
+
+                ===== StatelessAuthLoadTest principal=%s requests=%d concurrency=%d =====
+                 throughput     : %.0f req/s (errors %d)
+                 latency        : p50 %.2f ms / p99 %.2f ms
+                 per request    : %.3f user loads, %.3f JDBC statements
+                """,
+                stateless ? "claims" : "database", requests, concurrency,
+                requests / seconds, errors.get(),
+                latencies[requests / 2] / 1e6, latencies[(int) (requests * 0.99) - 1] / 1e6,
+                (double) userLoads / requests, (double) statements / requests);
+        if (!stateless) return errors.get() == 0;
+
+        // ---- 무효화 시나리오 ----
+        int before = get(base + "/api/me", token);
+        int reset = post(base + "/api/auth/reset-password", "{\"email\":\"bench@bench.local\",\"newPassword\":\"pw5678!\"}");
+        int afterReset = get(base + "/api/me", token);
+        String fresh = login(base, "pw5678!");      // 재설정 직후(같은 초) 재로그인 — iatMs 로 ms 단위 비교
+        int freshStatus = get(base + "/api/me", fresh);
+        for (int i = 0; i < 5; i++) post(base + "/api/auth/login", "{\"loginId\":\"bench\",\"password\":\"wrong\"}");
+        int afterLock = get(base + "/api/me", fresh);
+        TokenRevocationList list = env.bean(TokenRevocationList.class);
+
+        boolean ok = errors.get() == 0 && userLoads == 0
+                && before == 200 && reset == 200 && afterReset == 401 && freshStatus == 200 && afterLock == 401;
+        System.out.printf(" revocation     : /api/me before %d, reset %d, old token %d, new token %d, after lock %d"
+                        + " (list size %d)  %s%n",
+                before, reset, afterReset, freshStatus, afterLock, list.size(), ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    private static String login(String base, String password) throws Exception {
+        HttpResponse<String> res = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"loginId\":\"bench\",\"password\":\"" + password + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() != 200) throw new IllegalStateException("login failed: " + res.statusCode() + " " + res.body());
+        return JSON.readTree(res.body()).get("token").asText();
+    }
+
+    private static int get(String url, String token) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static int post(String url, String body) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,149 @@
+-- 벤치마크/부하 테스트용 스키마 (엔티티 매핑 기준으로 재구성, 운영 DDL 과 컬럼/제약 동일하게 유지)
+
+CREATE TABLE hotels (
+    id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name    VARCHAR(100),
+    region  VARCHAR(50),
+    KEY ix_hotels_region (region)
+);
+
+CREATE TABLE room_types (
+    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hotel_id         BIGINT,
+    name             VARCHAR(100),
+    price            INT,
+    today_remaining  INT,
+    KEY ix_room_types_hotel (hotel_id)
+);
+
+CREATE TABLE booking_day (
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hotel_id      BIGINT      NOT NULL,
+    room_type_id  BIGINT      NOT NULL,
+    stay_date     DATE        NOT NULL,
+    allotment     INT         NOT NULL,
+    booked        INT         NOT NULL DEFAULT 0,
+    price         INT         NOT NULL,
+    status        VARCHAR(20) NOT NULL DEFAULT 'OPEN',
+    remaining_qty INT AS (GREATEST(allotment - booked, 0)) PERSISTENT,
+    is_sellable   TINYINT(1) AS (CASE WHEN status = 'OPEN' AND allotment - booked > 0 THEN 1 ELSE 0 END) PERSISTENT,
+    created_at    DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at    DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_booking_day (hotel_id, room_type_id, stay_date)
+);
+
+CREATE TABLE booking_day_deltas (
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hotel_id      BIGINT NOT NULL,
+    room_type_id  BIGINT NOT NULL,
+    check_in      DATE   NOT NULL,
+    check_out     DATE   NOT NULL,
+    delta         INT    NOT NULL,
+    KEY idx_booking_day_deltas_range (hotel_id, room_type_id, check_in)
+);
+
+CREATE TABLE booking_holds (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hold_code      VARCHAR(40)  NOT NULL,
+    user_id        BIGINT       NOT NULL,
+    hotel_id       BIGINT       NOT NULL,
+    room_type_id   BIGINT       NOT NULL,
+    rate_plan_id   BIGINT       NOT NULL,
+    check_in       DATE         NOT NULL,
+    check_out      DATE         NOT NULL,
+    guests         INT          NOT NULL,
+    coupon_code    VARCHAR(50),
+    room_subtotal  INT          NOT NULL,
+    discount       INT          NOT NULL DEFAULT 0,
+    total_amount   INT          NOT NULL,
+    currency       CHAR(3)      NOT NULL DEFAULT 'KRW',
+    in_ledger      BOOLEAN      NOT NULL DEFAULT FALSE,
+    expires_at     DATETIME     NOT NULL,
+    created_at     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_booking_holds_code (hold_code),
+    KEY ix_booking_holds_expires (expires_at)
+);
+
+CREATE TABLE bookings (
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id       BIGINT      NOT NULL,
+    hotel_id      BIGINT      NOT NULL,
+    status        VARCHAR(20) NOT NULL,
+    check_in      DATE        NOT NULL,
+    check_out     DATE        NOT NULL,
+    nights        INT         NOT NULL,
+    guests        INT         NOT NULL,
+    total_amount  INT         NOT NULL,
+    currency      CHAR(3)     NOT NULL DEFAULT 'KRW',
+    voucher_no    VARCHAR(40),
+    created_at    DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at    DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE booking_guests (
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id  BIGINT      NOT NULL,
+    name        VARCHAR(50) NOT NULL,
+    phone       VARCHAR(20)
+);
+
+CREATE TABLE payments (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id     VARCHAR(64)  NOT NULL,
+    payment_key  VARCHAR(200) NOT NULL,
+    hold_code    VARCHAR(40)  NOT NULL,
+    amount       BIGINT       NOT NULL,
+    status       VARCHAR(20)  NOT NULL,
+    booking_id   BIGINT,
+    fail_reason  VARCHAR(255),
+    created_at   DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at   DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_payments_order (order_id),
+    KEY idx_payments_hold_code (hold_code)
+);
+
+CREATE TABLE outbox_events (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id   VARCHAR(64) NOT NULL,
+    event_type     VARCHAR(40) NOT NULL,
+    payload        TEXT        NOT NULL,
+    created_at     DATETIME(6) NOT NULL,
+    published_at   DATETIME(6),
+    KEY idx_outbox_unpublished (published_at, id)
+);
+
+CREATE TABLE users (
+    id                      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    login_id                VARCHAR(191) NOT NULL,
+    password_hash           VARCHAR(255) NOT NULL,
+    name                    VARCHAR(50)  NOT NULL,
+    email                   VARCHAR(100) NOT NULL,
+    email_verification_code VARCHAR(255),
+    is_email_verified       BIT          NOT NULL DEFAULT 0,
+    phone                   VARCHAR(20),
+    address1                VARCHAR(255),
+    address2                VARCHAR(255),
+    postcode                VARCHAR(10),
+    gender                  VARCHAR(10),
+    birth_date              DATE,
+    status                  VARCHAR(16)  NOT NULL,
+    role                    VARCHAR(16)  NOT NULL,
+    failed_login_attempts   INT          NOT NULL DEFAULT 0,
+    locked_at               DATETIME(6),
+    UNIQUE KEY ux_users_login_id (login_id),
+    UNIQUE KEY ux_users_email (email)
+);
+
+CREATE TABLE refresh_token_families (
+    family_id     BIGINT       NOT NULL PRIMARY KEY,
+    login_id      VARCHAR(191) NOT NULL,
+    generation    INT          NOT NULL,
+    expires_at    DATETIME(6)  NOT NULL,
+    revoked_at    DATETIME(6),
+    revoke_reason VARCHAR(20),
+    created_at    DATETIME(6)  NOT NULL,
+    rotated_at    DATETIME(6),
+    KEY idx_rtf_login_id (login_id),
+    KEY idx_rtf_expires_at (expires_at)
+);
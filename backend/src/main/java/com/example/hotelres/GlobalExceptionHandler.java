@@ -2,8 +2,13 @@ package com.example.hotelres;
 
 import java.util.Map;
 
+import com.example.hotelres.payment.PaymentGatewayUnavailableException;
+import com.example.hotelres.security.PasswordHashingBusyException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -26,6 +31,28 @@ public class GlobalExceptionHandler {
         return Map.of("error", e.getMessage());
     }
 
+    /** 데드락/락 대기 타임아웃 — 재시도 예산까지 소진된 경우. 잠시 후 재시도 안내 */
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String,String> handleLockFailure(PessimisticLockingFailureException e) {
+        return Map.of("error", "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    /** 결제사 보호(서킷 오픈/동시 호출 한도) 로 토스 호출 없이 거절 */
+    @ExceptionHandler(PaymentGatewayUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String,String> handleGatewayUnavailable(PaymentGatewayUnavailableException e) {
+        return Map.of("error", e.getMessage());
+    }
+
+    /** 비밀번호 해시 대기열 포화 — 해시 없이 바로 거절, 1초 뒤 재시도 안내 */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String,String>> handleHashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", e.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String,String> handleGeneric(Exception e) {
@@ -1,9 +1,12 @@
 package com.example.hotelres.auth;
 
 import com.example.hotelres.auth.dto.*;
+import com.example.hotelres.security.BoundedPasswordEncoder;
 import com.example.hotelres.security.JwtUtil;
+import com.example.hotelres.security.RefreshTokenStore;
 import com.example.hotelres.user.UserRepository;
 import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -26,9 +29,12 @@ public class AuthController {
     private final UserRepository users;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwt;
+    private final RefreshTokenStore refreshTokens;
+    private final BoundedPasswordEncoder passwordHasher;
 
     // ★ 추가: 이메일 코드 저장/검증 컴포넌트
     private final EmailCodeStore emailCodeStore;
+    private final LoginThrottle loginThrottle;
 
     @GetMapping("/check-username")
     public Map<String, Boolean> checkUsername(@RequestParam String loginId) {
@@ -49,41 +55,48 @@ public class AuthController {
         String code = (verificationCode != null && !verificationCode.isBlank())
                 ? verificationCode : verificationHeader;
 
-        if (code == null || !emailCodeStore.consume(req.getEmail(), code)) { // ✅ 최종 소모
+        passwordHasher.checkCapacity(); // 해시 대기열이 가득이면 바로 429
+        // 틀린 코드로는 BCrypt 까지 가지 않도록 먼저 확인만(소모 X), 소모는 해시 후 signup 안에서
+        if (code == null || !emailCodeStore.check(req.getEmail(), code)) {
             return ResponseEntity.badRequest().body(Map.of("error", "INVALID_OR_EXPIRED_CODE"));
         }
 
-        authService.signup(req);
+        authService.signup(req, code);
         return ResponseEntity.ok(Map.of("success", true));
     }
 
 
 
     @PostMapping("/login")
-public ResponseEntity<?> login(@RequestBody LoginRequest req) {
+public ResponseEntity<?> login(@RequestBody LoginRequest req, HttpServletRequest request) {
+    passwordHasher.checkCapacity(); // 해시 대기열이 가득이면 users 조회 전에 429
+
+    // 실패가 몰린 IP/계정은 users 조회·BCrypt 없이 거절
+    String ip = request.getRemoteAddr();
+    long retryAfter = loginThrottle.check(req.getLoginId(), ip);
+    if (retryAfter > 0) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(Map.of("error", "TOO_MANY_ATTEMPTS"));
+    }
+
     var userOpt = users.findByLoginId(req.getLoginId());
     if (userOpt.isEmpty()) {
-        // 존재하지 않는 계정 → 실패 횟수 정보 없음
+        // 존재하지 않는 계정 → 실패 횟수 정보 없음 (IP 윈도에는 누적)
+        loginThrottle.recordFailure(req.getLoginId(), ip);
         return ResponseEntity.status(401)
                 .body(Map.of("error", "INVALID_CREDENTIALS", "attempts", 0, "locked", false));
     }
 
     var u = userOpt.get();
 
-    // 1️⃣ 잠금 상태 체크
-    if (u.getStatus() == User.Status.LOCKED) {
-        if (u.getLockedAt() != null &&
-            u.getLockedAt().plusHours(1).isBefore(java.time.LocalDateTime.now())) {
-            // 잠금 해제
-            u.setStatus(User.Status.ACTIVE);
-            u.setFailedLoginAttempts(0);
-            u.setLockedAt(null);
-            users.save(u);
-        } else {
-            // 여전히 잠금 상태
-            return ResponseEntity.status(403)
-                    .body(Map.of("error", "ACCOUNT_LOCKED", "locked", true));
-        }
+    // 1️⃣ 잠금 상태 체크 (1시간 지났으면 해제 — 조건부 UPDATE 로 해당 컬럼만)
+    if (u.getStatus() == User.Status.LOCKED
+            && users.unlockIfExpired(u.getId(), java.time.LocalDateTime.now().minusHours(1),
+                    User.Status.ACTIVE, User.Status.LOCKED) == 0) {
+        // 여전히 잠금 상태
+        return ResponseEntity.status(403)
+                .body(Map.of("error", "ACCOUNT_LOCKED", "locked", true));
     }
 
     try {
@@ -91,13 +104,19 @@ public ResponseEntity<?> login(@RequestBody LoginRequest req) {
                 new UsernamePasswordAuthenticationToken(req.getLoginId(), req.getPassword())
         );
 
-        // 로그인 성공 → 실패 횟수 초기화
-        u.setFailedLoginAttempts(0);
-        u.setLockedAt(null);
-        users.save(u);
+        // 인증(BCrypt) 도중 동시 실패로 잠겼을 수 있음 → 미리 읽은 u 가 아니라 현재 상태로 재확인
+        //  (이 확인 뒤에 잠기면 잠금 시 revokeAll 이 여기서 발급한 토큰까지 무효화)
+        if (users.findStatus(u.getId()) == User.Status.LOCKED) {
+            return ResponseEntity.status(403)
+                    .body(Map.of("error", "ACCOUNT_LOCKED", "locked", true));
+        }
+
+        // 로그인 성공 → 실패 횟수 초기화 (재해시된 password_hash 를 덮어쓰지 않도록 해당 컬럼만)
+        if (u.getFailedLoginAttempts() != 0 || u.getLockedAt() != null) users.resetLoginFailures(u.getId(), User.Status.ACTIVE);
+        loginThrottle.recordSuccess(u.getLoginId());
 
         String access  = jwt.generateAccess(u.getLoginId(), u.getRole().name());
-        String refresh = jwt.generateRefresh(u.getLoginId());
+        String refresh = refreshTokens.issue(u.getLoginId());
         var cookie = ResponseCookie.from("refreshToken", refresh)
                 .httpOnly(true).secure(false)
                 .sameSite("Lax").path("/api/auth")
@@ -108,20 +127,14 @@ public ResponseEntity<?> login(@RequestBody LoginRequest req) {
                 .body(Map.of("token", access));
 
     } catch (AuthenticationException e) {
-        // 로그인 실패 → 실패 횟수 증가
-        u.setFailedLoginAttempts(u.getFailedLoginAttempts() + 1);
-        if (u.getFailedLoginAttempts() >= 5) {
-            u.setStatus(User.Status.LOCKED); // 잠금
-            u.setLockedAt(java.time.LocalDateTime.now());
-        }
-        users.save(u);
-
-        boolean locked = u.getStatus() == User.Status.LOCKED;
+        // 로그인 실패 → DB 에서 원자적으로 +1, 임계값이면 잠금 + 발급된 토큰 무효
+        loginThrottle.recordFailure(u.getLoginId(), ip);
+        var failure = authService.recordLoginFailure(u);
         return ResponseEntity.status(401)
                 .body(Map.of(
                         "error", "INVALID_CREDENTIALS",
-                        "attempts", u.getFailedLoginAttempts(),
-                        "locked", locked
+                        "attempts", failure.attempts(),
+                        "locked", failure.locked()
                 ));
     }
 }
@@ -132,14 +145,18 @@ public ResponseEntity<?> login(@RequestBody LoginRequest req) {
     public ResponseEntity<?> refresh(@CookieValue(name="refreshToken", required=false) String rt) {
         if (rt == null) return ResponseEntity.status(401).body(Map.of("error","NO_REFRESH"));
         try {
-            var claims = jwt.parse(rt).getBody();
-            if (!"refresh".equals(claims.get("type"))) return ResponseEntity.status(401).build();
+            // 현재 세대 토큰만 교환, 지난 세대면 패밀리 전체 무효
+            var rotation = refreshTokens.rotate(rt);
+            switch (rotation.outcome()) {
+                case ROTATED -> { }
+                case REUSED -> { return ResponseEntity.status(401).body(Map.of("error","REFRESH_REUSED")); }
+                default -> { return ResponseEntity.status(401).body(Map.of("error","INVALID_REFRESH")); }
+            }
 
-            var loginId = claims.getSubject();
-            var u = users.findByLoginId(loginId).orElseThrow();
+            var u = users.findByLoginId(rotation.loginId()).orElseThrow();
 
             String newAccess  = jwt.generateAccess(u.getLoginId(), u.getRole().name());
-            String newRefresh = jwt.generateRefresh(u.getLoginId());
+            String newRefresh = rotation.refreshToken();
 
             var cookie = ResponseCookie.from("refreshToken", newRefresh)
                     .httpOnly(true).secure(false)  // prod: true
@@ -157,7 +174,8 @@ public ResponseEntity<?> login(@RequestBody LoginRequest req) {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(){
+    public ResponseEntity<?> logout(@CookieValue(name="refreshToken", required=false) String rt){
+        if (rt != null) refreshTokens.revoke(rt, "LOGOUT"); // 쿠키만 지우면 유출된 토큰은 계속 유효
         var cookie = ResponseCookie.from("refreshToken","")
                 .httpOnly(true).secure(false)   // prod: true
                 .sameSite("Lax")
@@ -1,26 +1,47 @@
 package com.example.hotelres.auth;
 
 import com.example.hotelres.auth.dto.SignupRequest;
+import com.example.hotelres.security.RefreshTokenStore;
+import com.example.hotelres.security.TokenRevocationList;
 import com.example.hotelres.user.User;
 import com.example.hotelres.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
 
 @Service @RequiredArgsConstructor
 public class AuthService {
     private final UserRepository users;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationList tokenRevocations;
+    private final RefreshTokenStore refreshTokens;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailCodeStore emailCodeStore;
 
-    @Transactional
-    public User signup(SignupRequest req) {
+    @Value("${app.auth.lock.max-failures:5}")
+    private int lockThreshold = 5;
+
+    /** 로그인 실패 1회 기록 결과 */
+    public record LoginFailure(int attempts, boolean locked) {}
+
+    // 해시는 트랜잭션 밖에서 (해시 대기 중에 DB 커넥션을 잡지 않도록). 동시 가입 중복은 unique 제약이 막음
+    // 인증 코드는 해시가 끝난 뒤에 소모 → 해시 대기열 포화(429)로 실패해도 코드는 그대로 남아 재시도 가능
+    public User signup(SignupRequest req, String verificationCode) {
         if (users.existsByLoginId(req.getLoginId())) throw new IllegalArgumentException("DUP_LOGIN_ID");
         if (users.existsByEmail(req.getEmail()))     throw new IllegalArgumentException("DUP_EMAIL");
+        String hash = passwordEncoder.encode(req.getPassword());
+        if (!emailCodeStore.consume(req.getEmail(), verificationCode)) { // ✅ 최종 소모 (동시 가입은 한 건만 성공)
+            throw new IllegalArgumentException("INVALID_OR_EXPIRED_CODE");
+        }
 
         User u = new User();
         u.setLoginId(req.getLoginId());
-        u.setPasswordHash(passwordEncoder.encode(req.getPassword()));
+        u.setPasswordHash(hash);
         u.setName(req.getName());
         u.setEmail(req.getEmail());
         u.setPhone(req.getPhone());
@@ -31,12 +52,31 @@ public class AuthService {
         return users.save(u);
     }
 
-     // 이메일 기반 비밀번호 재설정
+     // 이메일 기반 비밀번호 재설정 (+ 기존 access/refresh 토큰 무효). 해시는 트랜잭션 밖에서
     public boolean resetPassword(String email, String newPassword) {
-        return users.findByEmail(email).map(user -> {
-            user.setPasswordHash(passwordEncoder.encode(newPassword));
+        if (!users.existsByEmail(email)) return false;
+        String hash = passwordEncoder.encode(newPassword);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> users.findByEmail(email).map(user -> {
+            user.setPasswordHash(hash);
             users.save(user);
+            tokenRevocations.revokeAll(user.getLoginId(), "PASSWORD_RESET");
+            refreshTokens.revokeUser(user.getLoginId(), "PASSWORD_RESET");
             return true;
-        }).orElse(false);
+        }).orElse(false)));
+    }
+
+    // 로그인 실패: DB 에서 +1 (엔티티 전체를 다시 쓰지 않음, 행 잠금 안에서 누적 → 동시 실패도 빠짐없이)
+    // 임계값에 도달하면 잠금 + 기존 access/refresh 토큰 무효 (잠금은 정확히 한 번)
+    @Transactional
+    public LoginFailure recordLoginFailure(User u) {
+        users.incrementFailedLogins(u.getId());
+        int attempts = users.findFailedLoginAttempts(u.getId());
+        if (attempts >= lockThreshold
+                && users.lockIfThresholdReached(u.getId(), lockThreshold, LocalDateTime.now(),
+                        User.Status.ACTIVE, User.Status.LOCKED) == 1) {
+            tokenRevocations.revokeAll(u.getLoginId(), "LOCKED");
+            refreshTokens.revokeUser(u.getLoginId(), "LOCKED");
+        }
+        return new LoginFailure(attempts, attempts >= lockThreshold);
     }
 }
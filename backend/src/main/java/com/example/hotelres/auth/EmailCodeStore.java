@@ -1,44 +1,154 @@
 package com.example.hotelres.auth;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-// com/example/hotelres/auth/EmailCodeStore.java
+/*
+ * ================================================================
+ * EmailCodeStore (이메일 인증 코드 저장소, 노드 메모리)
+ * ---------------------------------------------------------------
+ *  - 이메일(정규화) → {코드 int, 만료 epoch 초 long} (String/Instant 대신 기본형 → 항목당 객체 1개)
+ *  - 상한: maxEntries. 가득 차면 만료 항목을 먼저 치우고(최대 초당 1회), 그래도 가득이면 새 이메일 저장 거절
+ *    (이미 있는 이메일의 재발급은 항상 허용). 스팸 요청으로 힙이 끝없이 커지지 않음
+ *  - 만료 항목은 EmailCodeSweepJob 이 주기적으로 제거 (조회가 다시 오지 않는 가입 포기 건도 정리)
+ *  - check/consume 도 만료를 보면 그 항목을 제거. 제거/소모는 remove(key, entry) 로 조건부
+ *    → 그 사이 재발급된 새 코드를 지우지 않고, 같은 코드의 동시 consume 은 한 번만 성공
+ *  - 메트릭: auth.email.code.size, auth.email.code.evicted{reason=expired}, auth.email.code.rejected
+ * ================================================================
+ */
 @Component
 public class EmailCodeStore {
-    private static class Entry { String code; Instant exp; }
+
+    /** 코드 + 만료 시각(epoch 초). 불변 → 교체로만 갱신 */
+    private static final class Entry {
+        final int code;
+        final long expEpochSec;
+
+        Entry(int code, long expEpochSec) {
+            this.code = code;
+            this.expEpochSec = expEpochSec;
+        }
+
+        boolean expired(long now) {
+            return now > expEpochSec;
+        }
+    }
+
     private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final AtomicLong lastFullSweep = new AtomicLong(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+    private final Counter expired;
+    private final Counter rejected;
+
+    public EmailCodeStore(MeterRegistry meterRegistry,
+                          @Value("${app.auth.email-code.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.expired = meterRegistry.counter("auth.email.code.evicted", "reason", "expired");
+        this.rejected = meterRegistry.counter("auth.email.code.rejected");
+        meterRegistry.gauge("auth.email.code.size", store, Map::size);
+    }
 
     private String norm(String email){ return email == null ? null : email.trim().toLowerCase(); }
 
-    public void save(String email, String code, int ttlSeconds) {
-        var e = new Entry();
-        e.code = code;
-        e.exp = Instant.now().plusSeconds(ttlSeconds);
-        store.put(norm(email), e);
+    /** 코드 저장 (같은 이메일이면 교체). 저장소가 가득 차 새 이메일을 받을 수 없으면 false */
+    public boolean save(String email, String code, int ttlSeconds) {
+        var key = norm(email);
+        var e = new Entry(parse(code), now() + ttlSeconds);
+        if (!hasRoom(key)) {
+            rejected.increment();
+            return false;
+        }
+        store.put(key, e);
+        return true;
+    }
+
+    /** save 가 받아줄 수 있는지 미리 확인 (메일 발송 전 검사용, 저장/거절 집계 없음) */
+    public boolean hasRoomFor(String email) {
+        return hasRoom(norm(email));
     }
 
     /** 단순 확인(소모 X) */
     public boolean check(String email, String code) {
-        var e = store.get(norm(email));
-        if (e == null) return false;
-        if (Instant.now().isAfter(e.exp)) { store.remove(norm(email)); return false; }
-        return e.code.equals(code);
+        var key = norm(email);
+        var e = live(key);
+        return e != null && matches(e, code);
     }
 
     /** 최종 사용(성공 시 1회용 소모) */
     public boolean consume(String email, String code) {
         var key = norm(email);
+        var e = live(key);
+        return e != null && matches(e, code) && store.remove(key, e);
+    }
+
+    /** 만료 항목 전부 제거 (EmailCodeSweepJob). 반환값: 제거 건수 */
+    public int sweep() {
+        long now = now();
+        int[] removed = {0};
+        store.values().removeIf(e -> {
+            if (!e.expired(now)) return false;
+            removed[0]++;
+            return true;
+        });
+        expired.increment(removed[0]);
+        return removed[0];
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /** 만료되지 않은 항목 (만료면 제거하고 null) */
+    private Entry live(String key) {
+        if (key == null) return null;
         var e = store.get(key);
-        if (e == null) return false;
-        if (Instant.now().isAfter(e.exp)) { store.remove(key); return false; }
-        boolean ok = e.code.equals(code);
-        if (ok) store.remove(key);
-        return ok;
+        if (e == null) return null;
+        if (e.expired(now())) {
+            if (store.remove(key, e)) expired.increment();
+            return null;
+        }
+        return e;
+    }
+
+    private boolean hasRoom(String key) {
+        if (store.size() < maxEntries || store.containsKey(key)) return true;
+        sweepWhenFull();
+        return store.size() < maxEntries || store.containsKey(key);
+    }
+
+    /** 가득 찬 상태에서의 즉시 정리는 초당 1회로 제한 (요청마다 전체 순회 방지) */
+    private void sweepWhenFull() {
+        long now = System.nanoTime();
+        long last = lastFullSweep.get();
+        if (now - last >= TimeUnit.SECONDS.toNanos(1) && lastFullSweep.compareAndSet(last, now)) sweep();
     }
-}
 
+    private static boolean matches(Entry e, String code) {
+        return isSixDigits(code) && Integer.parseInt(code) == e.code;
+    }
+
+    private static int parse(String code) {
+        if (!isSixDigits(code)) throw new IllegalArgumentException("인증 코드는 6자리 숫자여야 합니다.");
+        return Integer.parseInt(code);
+    }
+
+    private static boolean isSixDigits(String code) {
+        if (code == null || code.length() != 6) return false;
+        for (int i = 0; i < 6; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
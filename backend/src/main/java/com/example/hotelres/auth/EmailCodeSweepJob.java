@@ -0,0 +1,20 @@
+package com.example.hotelres.auth;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailCodeSweepJob {
+    private final EmailCodeStore emailCodeStore;
+
+    // 만료된 인증 코드 제거 (가입을 포기해 다시 조회되지 않는 코드 포함)
+    @Scheduled(fixedDelayString = "${app.auth.email-code.sweep-interval-ms:30000}")
+    public void run() {
+        int removed = emailCodeStore.sweep();
+        if (removed > 0) log.debug("Expired email codes removed: {} (remaining {})", removed, emailCodeStore.size());
+    }
+}
@@ -1,20 +1,20 @@
 package com.example.hotelres.auth;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    /** 인증 코드 메일 본문 (기동 시 1회 컴파일) */
+    private static final MailTemplate VERIFICATION_TEMPLATE = MailTemplate.load("templates/mail/verification-code.html");
+
+    private final MailQueue mailQueue;
 
     // 보내는 주소(반드시 spring.mail.username과 동일)
     @Value("${spring.mail.username}")
@@ -27,26 +27,12 @@ public class EmailService {
         return String.valueOf(100000 + RND.nextInt(900000));
     }
 
-    /** 이미 생성한 code를 받아 전송 (컨트롤러에서 저장/검증에 쓰기 좋음) */
-    public void sendVerificationCode(String toEmail, String code) throws MessagingException {
-        MimeMessage msg = mailSender.createMimeMessage();
-        MimeMessageHelper h = new MimeMessageHelper(msg, true, "UTF-8");
-        h.setFrom(from);                    // ✅ 꼭 설정 (보내는 주소 정책)
-        h.setTo(toEmail);
-        h.setSubject("[HOTELRES] 이메일 인증 코드");
-        h.setText(
-                "<div style='font-family:system-ui,Segoe UI,Roboto,Apple SD Gothic Neo,sans-serif'>"
-                        + "<p>요청하신 이메일 인증 코드입니다.</p>"
-                        + "<p>인증 코드: <b style='font-size:18px'>" + code + "</b></p>"
-                        + "<p style='color:#666'>5분 내에 입력해주세요.</p>"
-                        + "</div>", true);
-        mailSender.send(msg);
-    }
-
-    /** 편의 메서드: 코드 생성 + 전송 후 코드 반환 (원하면 사용) */
-    public String sendAndReturnCode(String toEmail) throws MessagingException {
-        String code = generate6Digit();
-        sendVerificationCode(toEmail, code);
-        return code;
+    /**
+     * 이미 생성한 code 로 본문을 렌더링해 발송 큐에 넣음 (MimeMessage 구성과 SMTP 발송은 MailQueue 워커가 수행)
+     * 반환값: 큐에 들어갔으면 true, 큐가 가득 찼으면 false
+     */
+    public boolean sendVerificationCode(String toEmail, String code, long ttlSeconds) {
+        String html = VERIFICATION_TEMPLATE.render(Map.of("code", code, "ttlMinutes", ttlSeconds / 60));
+        return mailQueue.offer(new MailQueue.OutgoingMail(from, toEmail, "[HOTELRES] 이메일 인증 코드", html));
     }
 }
@@ -0,0 +1,162 @@
+package com.example.hotelres.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * ================================================================
+ * LoginThrottle (로그인 실패 슬라이딩 윈도, 노드 메모리)
+ * ---------------------------------------------------------------
+ *  - 키 2종: "L:" + loginId, "I:" + 클라이언트 IP. 실패할 때마다 둘 다 +1, 성공하면 loginId 쪽만 초기화
+ *  - IP 키는 app.auth.throttle.ip.enabled=true 일 때만 (기본 꺼짐)
+ *      컨트롤러가 넘기는 IP 는 request.getRemoteAddr() → 프록시/LB 뒤에서는 모든 사용자가 프록시 IP 하나로 묶여
+ *      남용 한 건이 전체 로그인을 막음. 켜려면 직접 노출이거나, server.forward-headers-strategy=native +
+ *      server.tomcat.remoteip.internal-proxies(신뢰 프록시 정규식)로 RemoteIpValve 가 실제 클라이언트 IP 를 채울 때만
+ *  - 윈도: 근사 슬라이딩 윈도 (직전 구간 건수 × 남은 비율 + 현재 구간 건수) → 키당 필드 3개, 경계 몰아치기 없음
+ *  - 한도를 넘으면 check() 가 재시도까지 남은 초를 돌려줌 → 컨트롤러가 users 조회/BCrypt 없이 429
+ *      loginId 한도: 한 계정에 여러 IP 로 몰리는 대입 (DB 잠금 임계값보다 높게 → 평소엔 DB 잠금이 먼저)
+ *      IP 한도    : 한 IP 가 여러 계정/없는 계정에 뿌리는 대입
+ *  - DB 의 failed_login_attempts / 잠금이 영속 기준. 이 윈도는 명백한 남용을 해시 전에 버리는 앞단
+ *  - 상한 maxKeys: 가득 차면 한가한 키부터(최대 초당 1회), 그래도 가득이면 임의 1/16 제거 (DB 잠금이 뒤를 받침)
+ *  - 한가한 키는 LoginThrottleSweepJob 이 주기적으로 제거
+ *  - 메트릭: auth.login.throttled{scope=login|ip}, auth.login.throttle.size
+ * ================================================================
+ */
+@Component
+public class LoginThrottle {
+
+    /** 근사 슬라이딩 윈도 카운터 (키별 잠금은 객체 모니터) */
+    private static final class Window {
+        long start;   // 현재 구간 시작(ms)
+        int prev;     // 직전 구간 실패 수
+        int curr;     // 현재 구간 실패 수
+
+        Window(long now) {
+            this.start = now;
+        }
+
+        synchronized void add(long now, long size) {
+            roll(now, size);
+            curr++;
+        }
+
+        synchronized double estimate(long now, long size) {
+            roll(now, size);
+            return prev * (1.0 - (double) (now - start) / size) + curr;
+        }
+
+        /** 현재 구간이 끝날 때까지 남은 ms (그 뒤로 추정치가 줄기 시작) */
+        synchronized long remaining(long now, long size) {
+            roll(now, size);
+            return start + size - now;
+        }
+
+        synchronized boolean idle(long now, long size) {
+            roll(now, size);
+            return prev == 0 && curr == 0;
+        }
+
+        private void roll(long now, long size) {
+            long k = (now - start) / size;
+            if (k <= 0) return;
+            prev = k == 1 ? curr : 0;
+            curr = 0;
+            start += k * size;
+        }
+    }
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final long windowMs;
+    private final int maxPerLogin;
+    private final int maxPerIp;
+    private final boolean ipEnabled;
+    private final int maxKeys;
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+    private final Counter throttledLogin;
+    private final Counter throttledIp;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${app.auth.throttle.window-ms:900000}") long windowMs,
+                         @Value("${app.auth.throttle.login.max-failures:10}") int maxPerLogin,
+                         @Value("${app.auth.throttle.ip.max-failures:30}") int maxPerIp,
+                         @Value("${app.auth.throttle.ip.enabled:false}") boolean ipEnabled,
+                         @Value("${app.auth.throttle.max-keys:200000}") int maxKeys) {
+        this.windowMs = windowMs;
+        this.maxPerLogin = maxPerLogin;
+        this.maxPerIp = maxPerIp;
+        this.ipEnabled = ipEnabled;
+        this.maxKeys = maxKeys;
+        this.throttledLogin = meterRegistry.counter("auth.login.throttled", "scope", "login");
+        this.throttledIp = meterRegistry.counter("auth.login.throttled", "scope", "ip");
+        meterRegistry.gauge("auth.login.throttle.size", windows, Map::size);
+    }
+
+    /** 시도 허용이면 0, 아니면 재시도까지 남은 초 */
+    public long check(String loginId, String ip) {
+        long now = System.currentTimeMillis();
+        long wait = ipEnabled ? overLimit("I:" + ip, maxPerIp, now) : 0;
+        if (wait > 0) {
+            throttledIp.increment();
+            return wait;
+        }
+        wait = overLimit("L:" + loginId, maxPerLogin, now);
+        if (wait > 0) throttledLogin.increment();
+        return wait;
+    }
+
+    public void recordFailure(String loginId, String ip) {
+        long now = System.currentTimeMillis();
+        window("L:" + loginId, now).add(now, windowMs);
+        if (ipEnabled) window("I:" + ip, now).add(now, windowMs);
+    }
+
+    public void recordSuccess(String loginId) {
+        windows.remove("L:" + loginId);
+    }
+
+    /** 한가한(두 구간 모두 0) 키 제거. 반환값: 제거 건수 */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        int before = windows.size();
+        windows.values().removeIf(w -> w.idle(now, windowMs));
+        return before - windows.size();
+    }
+
+    public int size() {
+        return windows.size();
+    }
+
+    private long overLimit(String key, int max, long now) {
+        Window w = windows.get(key);
+        if (w == null || w.estimate(now, windowMs) < max) return 0;
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(w.remaining(now, windowMs) + 999));
+    }
+
+    private Window window(String key, long now) {
+        Window w = windows.get(key);
+        if (w != null) return w;
+        if (windows.size() >= maxKeys) makeRoom();
+        return windows.computeIfAbsent(key, k -> new Window(now));
+    }
+
+    private void makeRoom() {
+        long t = System.nanoTime();
+        long last = lastSweep.get();
+        if (t - last >= TimeUnit.SECONDS.toNanos(1) && lastSweep.compareAndSet(last, t)) sweep();
+        if (windows.size() < maxKeys) return;
+        // 해시 순서 = 사실상 임의 순서
+        int toRemove = Math.max(1, maxKeys / 16);
+        for (Iterator<String> it = windows.keySet().iterator(); it.hasNext() && toRemove-- > 0; ) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.hotelres.auth;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginThrottleSweepJob {
+    private final LoginThrottle loginThrottle;
+
+    // 두 구간 모두 실패가 없는 loginId/IP 윈도 제거
+    @Scheduled(fixedDelayString = "${app.auth.throttle.sweep-interval-ms:60000}")
+    public void run() {
+        int removed = loginThrottle.sweep();
+        if (removed > 0) log.debug("Idle login throttle windows removed: {} (remaining {})", removed, loginThrottle.size());
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.hotelres.auth;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * ================================================================
+ * MailQueue (비동기 메일 발송 큐)
+ * ---------------------------------------------------------------
+ *  - offer(): 요청 스레드는 렌더링된 본문(OutgoingMail)만 제한 큐(queueCapacity)에 넣고 바로 반환
+ *    (가득 차면 false → 호출 측이 503). MimeMessage 구성/인코딩과 SMTP 왕복은 요청 경로에서 빠짐
+ *    (MimeMessage 인코딩은 JDK 문자셋 조회 락을 타므로 요청 스레드 수만큼 몰리면 서로 막힘)
+ *  - 워커 workers 개가 큐에서 최대 maxBatch 건씩 꺼내 MimeMessage 로 만들어 발송.
+ *    워커마다 SMTP Transport 1개를 열어 두고 여러 메시지에 재사용 (메일마다 연결/EHLO/인증 반복 없음),
+ *    idleCloseMs 동안 보낼 것이 없으면 연결을 닫음.
+ *  - 실패: 연결을 닫고, 일시 오류(SMTP 4xx, 연결/IO 오류)는 retryBackoffMs 부터 2배씩 늘려 maxAttempts 까지 재시도.
+ *    영구 오류(인증 실패, 주소 거절, 5xx)는 바로 포기하고 기록만 함.
+ *  - 워커 스레드: 기본은 데몬 플랫폼 스레드,
+ *    spring.threads.virtual.enabled=true (Java 21 런타임)면 가상 스레드 (PaymentConfirmExecutor 와 같은 스위치)
+ *  - 종료 시 남은 메시지를 최대 shutdownTimeoutMs 동안 마저 보냄 (인증 코드는 짧은 TTL 이라 영속 큐는 두지 않음)
+ *  - 메트릭: mail.queue.size, mail.sent, mail.failed{reason}, mail.retry, mail.rejected,
+ *           mail.send(발송 지연), mail.smtp.connect, mail.batch.size
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class MailQueue {
+
+    /** 발송할 메일 1건 (본문은 이미 렌더링된 HTML) */
+    public record OutgoingMail(String from, String to, String subject, String html) {}
+
+    private final JavaMailSenderImpl mailSender;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<OutgoingMail> queue;
+    private final CountDownLatch stopped;
+    private final int maxBatch;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long idleCloseMs;
+    private final long shutdownTimeoutMs;
+    private final DistributionSummary batchSize;
+    private final Timer sendTimer;
+    private volatile boolean running = true;
+
+    public MailQueue(JavaMailSenderImpl mailSender,
+                     MeterRegistry meterRegistry,
+                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                     @Value("${app.mail.workers:2}") int workers,
+                     @Value("${app.mail.queue-capacity:1000}") int queueCapacity,
+                     @Value("${app.mail.max-batch:50}") int maxBatch,
+                     @Value("${app.mail.max-attempts:3}") int maxAttempts,
+                     @Value("${app.mail.retry-backoff-ms:500}") long retryBackoffMs,
+                     @Value("${app.mail.idle-close-ms:10000}") long idleCloseMs,
+                     @Value("${app.mail.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.stopped = new CountDownLatch(workers);
+        this.maxBatch = maxBatch;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.idleCloseMs = idleCloseMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.batchSize = meterRegistry.summary("mail.batch.size");
+        this.sendTimer = meterRegistry.timer("mail.send");
+        meterRegistry.gauge("mail.queue.size", queue, BlockingQueue::size);
+
+        SimpleAsyncTaskExecutor threads = new SimpleAsyncTaskExecutor("mail-sender-");
+        if (virtualThreads) threads.setVirtualThreads(true);
+        else threads.setDaemon(true);
+        for (int i = 0; i < workers; i++) threads.execute(this::work);
+        log.info("Mail queue: {} workers ({}), capacity {}", workers,
+                virtualThreads ? "virtual threads" : "platform threads", queueCapacity);
+    }
+
+    /** 발송 예약. 큐가 가득 찼거나 종료 중이면 false */
+    public boolean offer(OutgoingMail mail) {
+        if (running && queue.offer(mail)) return true;
+        meterRegistry.counter("mail.rejected").increment();
+        return false;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (!stopped.await(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("Mail queue shutdown timed out: {} messages not sent", queue.size());
+        }
+    }
+
+    /* ================================================================
+     * 워커
+     * ================================================================ */
+
+    private void work() {
+        Transport transport = null;
+        long lastUsed = System.nanoTime();
+        try {
+            while (running || !queue.isEmpty()) {
+                OutgoingMail first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (transport != null && System.nanoTime() - lastUsed > TimeUnit.MILLISECONDS.toNanos(idleCloseMs)) {
+                        transport = close(transport);
+                    }
+                    continue;
+                }
+                List<OutgoingMail> batch = new ArrayList<>(maxBatch);
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                batchSize.record(batch.size());
+                for (OutgoingMail m : batch) {
+                    try {
+                        transport = deliver(transport, m);
+                    } catch (RuntimeException e) { // 메시지 1건의 예기치 못한 오류로 워커가 죽지 않도록
+                        transport = close(transport);
+                        meterRegistry.counter("mail.failed", "reason", "error").increment();
+                        log.error("Mail delivery error: to={}", m.to(), e);
+                    }
+                }
+                lastUsed = System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+            stopped.countDown();
+        }
+    }
+
+    /** 메시지 1건 발송 (재시도 포함). 이어서 쓸 Transport 반환 (실패 시 닫고 null) */
+    private Transport deliver(Transport transport, OutgoingMail mail) throws InterruptedException {
+        MimeMessage message;
+        try {
+            message = toMessage(mail);
+        } catch (MessagingException e) {
+            meterRegistry.counter("mail.failed", "reason", "permanent").increment();
+            log.warn("Mail build failed: to={} ({})", mail.to(), e.getMessage());
+            return transport;
+        }
+        for (int attempt = 1; ; attempt++) {
+            long t0 = System.nanoTime();
+            try {
+                if (transport == null || !transport.isConnected()) transport = connect();
+                message.saveChanges();
+                transport.sendMessage(message, message.getAllRecipients());
+                sendTimer.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+                meterRegistry.counter("mail.sent").increment();
+                return transport;
+            } catch (MessagingException e) {
+                transport = close(transport); // 실패 후 세션 상태를 믿지 않고 새로 연결
+                if (!isTransient(e) || attempt >= maxAttempts) {
+                    String reason = isTransient(e) ? "exhausted" : "permanent";
+                    meterRegistry.counter("mail.failed", "reason", reason).increment();
+                    log.warn("Mail delivery failed ({}, attempts={}): to={} ({})",
+                            reason, attempt, mail.to(), e.getMessage());
+                    return null;
+                }
+                meterRegistry.counter("mail.retry").increment();
+                Thread.sleep(retryBackoffMs << (attempt - 1));
+            }
+        }
+    }
+
+    private MimeMessage toMessage(OutgoingMail mail) throws MessagingException {
+        MimeMessage msg = mailSender.createMimeMessage();
+        MimeMessageHelper h = new MimeMessageHelper(msg, "UTF-8");
+        h.setFrom(mail.from());
+        h.setTo(mail.to());
+        h.setSubject(mail.subject());
+        h.setText(mail.html(), true);
+        h.setSentDate(new Date());
+        return msg;
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(
+                mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        meterRegistry.counter("mail.smtp.connect").increment();
+        return transport;
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+                // 이미 끊긴 연결
+            }
+        }
+        return null;
+    }
+
+    /** SMTP 4xx / 연결·IO 오류는 일시 오류, 인증 실패·주소 거절·5xx 는 영구 오류 */
+    static boolean isTransient(MessagingException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) { // MessagingException.getCause() = 다음 예외 체인
+            if (t instanceof AuthenticationFailedException) return false;
+            if (t instanceof SMTPAddressFailedException f) return f.getReturnCode() / 100 == 4;
+            if (t instanceof SMTPSenderFailedException f) return f.getReturnCode() / 100 == 4;
+            if (t instanceof SMTPSendFailedException f) return f.getReturnCode() / 100 == 4;
+            if (t instanceof IOException) return true;
+        }
+        return false;
+    }
+}
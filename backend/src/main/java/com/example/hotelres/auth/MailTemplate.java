@@ -0,0 +1,69 @@
+package com.example.hotelres.auth;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * ================================================================
+ * MailTemplate (메일 HTML 템플릿)
+ * ---------------------------------------------------------------
+ *  - classpath 의 HTML 을 한 번만 읽어 "고정 문자열 / {{변수}}" 조각 목록으로 컴파일
+ *  - render() 는 조각을 순서대로 이어 붙이기만 함 (메일마다 파싱/문자열 연결 반복 없음)
+ *  - 변수 값은 HTML 이스케이프, 값이 없는 변수는 빈 문자열
+ * ================================================================
+ */
+public final class MailTemplate {
+
+    private final String[] literals;   // literals[i] 뒤에 variables[i] (마지막 literal 은 변수 없음)
+    private final String[] variables;
+    private final int sizeHint;
+
+    private MailTemplate(List<String> literals, List<String> variables) {
+        this.literals = literals.toArray(String[]::new);
+        this.variables = variables.toArray(String[]::new);
+        this.sizeHint = literals.stream().mapToInt(String::length).sum() + variables.size() * 16;
+    }
+
+    /** classpath 경로의 템플릿 로드 + 컴파일 (애플리케이션 기동 시 1회) */
+    public static MailTemplate load(String classpath) {
+        try (InputStream in = new ClassPathResource(classpath).getInputStream()) {
+            return compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("메일 템플릿을 읽을 수 없습니다: " + classpath, e);
+        }
+    }
+
+    public static MailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int open = source.indexOf("{{", from);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) break;
+            literals.add(source.substring(from, open));
+            variables.add(source.substring(open + 2, close).trim());
+            from = close + 2;
+        }
+        literals.add(source.substring(from));
+        return new MailTemplate(literals, variables);
+    }
+
+    public String render(Map<String, ?> values) {
+        StringBuilder sb = new StringBuilder(sizeHint);
+        for (int i = 0; i < variables.length; i++) {
+            sb.append(literals[i]);
+            Object v = values.get(variables[i]);
+            if (v != null) sb.append(HtmlUtils.htmlEscape(v.toString()));
+        }
+        return sb.append(literals[literals.length - 1]).toString();
+    }
+}
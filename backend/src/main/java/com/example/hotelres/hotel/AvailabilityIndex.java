@@ -0,0 +1,341 @@
+// src/main/java/com/example/hotelres/hotel/AvailabilityIndex.java
+package com.example.hotelres.hotel;
+
+import com.example.hotelres.hotel.dto.AvailabilityDto;
+import com.example.hotelres.hotel.dto.StaySearchDto;
+import com.example.hotelres.reservation.BookingDay;
+import com.example.hotelres.reservation.BookingDayRepository;
+import com.example.hotelres.reservation.BookingDayStatus;
+import com.example.hotelres.reservation.InventoryChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * ================================================================
+ * AvailabilityIndex
+ * ---------------------------------------------------------------
+ * 목적
+ *  - 기간 가용성 조회(GET /api/hotels/{id}/availability)와
+ *    지역 숙박 검색(GET /api/hotels/search)을 booking_day 조회 없이 응답.
+ *  - 룸타입마다 오늘부터 HORIZON_DAYS 일의 남은 수량(int[]), 1박가(int[]),
+ *    OPEN 여부(BitSet), 판매가능 여부(BitSet: OPEN && remaining > 0)를 메모리에 보관.
+ *
+ * 검색 (region → hotels → room types)
+ *  - 1박가 누적합(pricePrefix) → 구간 금액 O(1)
+ *  - 판매가능 잔여 수량의 sparse table(minTable) → 구간 최소 잔여 O(1)
+ *    (레벨 0..MAX_LEVEL 만 두어 MAX_NIGHTS 박까지 지원, 룸타입당 int 5 x 365)
+ *
+ * 갱신
+ *  - 기동 완료 시 + 매일 자정(기준일 이동) hotels / room_types / booking_day 전체 재적재.
+ *  - 그 사이 변경은 ReservationService 의 InventoryChangedEvent(커밋 후)로 증분 반영.
+ *  - 재적재 중(DB 읽기 ~ 교체) 커밋된 변경은 옛 스냅샷에 반영하면서 따로 기록해 두었다가
+ *    새 스냅샷으로 교체할 때 다시 적용.
+ *  - 커밋 울타리(commitFence): 재고 변경 트랜잭션은 커밋 직전 ~ 반영 완료까지 읽기 잠금을 잡고,
+ *    재적재는 쓰기 잠금 안에서 "기록 시작 + 읽기 스냅샷 고정(REPEATABLE READ)" 을 함께 수행
+ *    → 모든 변경이 DB 스냅샷 또는 재적용 목록 중 정확히 한쪽에만 들어감 (유실/이중 반영 없음).
+ *    커밋이 막히는 시간은 스냅샷 고정용 PK 조회 1회 동안뿐.
+ *
+ * 주의
+ *  - 관리자가 booking_day 를 직접 수정한 경우 다음 재적재 때 반영됨.
+ * ================================================================
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityIndex {
+
+    /** 조회 가능 일수 (오늘 포함 1년) */
+    public static final int HORIZON_DAYS = 365;
+
+    /** 검색 가능한 최대 숙박일수 (sparse table 레벨 수를 결정) */
+    public static final int MAX_NIGHTS = 30;
+
+    /** 2^MAX_LEVEL <= MAX_NIGHTS < 2^(MAX_LEVEL+1) */
+    private static final int MAX_LEVEL = 31 - Integer.numberOfLeadingZeros(MAX_NIGHTS);
+
+    private final HotelRepository hotelRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final BookingDayRepository bookingDayRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /** 스냅샷 단위 교체 (재적재 시 통째로 바꿈) */
+    private volatile Snapshot snapshot = new Snapshot(LocalDate.now().toEpochDay(), Map.of(), Map.of(), Map.of());
+
+    /** 스냅샷 교체 / 재적재 중 이벤트 기록 동기화 */
+    private final Object swapLock = new Object();
+
+    /** 재적재 중 커밋된 변경 (재적재 중이 아니면 null) — swapLock 으로 보호 */
+    private List<InventoryChangedEvent> duringReload;
+
+    /** 읽기 = 재고 변경 커밋 진행 중, 쓰기 = 재적재의 기록 시작/스냅샷 고정 */
+    private final ReentrantReadWriteLock commitFence = new ReentrantReadWriteLock();
+
+    private record Snapshot(long baseEpochDay,
+                            Map<String, List<HotelEntry>> byRegion,
+                            Map<Long, List<RoomTypeCalendar>> byHotel,
+                            Map<Long, RoomTypeCalendar> byRoomType) {}
+
+    private record HotelEntry(long hotelId, String name, String region, List<RoomTypeCalendar> roomTypes) {}
+
+    /** 룸타입 1개의 일자별 재고 달력 (인덱스 = stayDate - base) */
+    static final class RoomTypeCalendar {
+        final long roomTypeId;
+        final String name;
+        final int[] remaining = new int[HORIZON_DAYS];
+        final int[] price = new int[HORIZON_DAYS];
+        final BitSet open = new BitSet(HORIZON_DAYS);
+        final BitSet sellable = new BitSet(HORIZON_DAYS);
+        final long[] pricePrefix = new long[HORIZON_DAYS + 1];         // pricePrefix[i] = price[0..i) 합
+        final int[][] minTable = new int[MAX_LEVEL + 1][HORIZON_DAYS]; // [k][i] = min(판매가능 잔여[i..i+2^k))
+
+        RoomTypeCalendar(long roomTypeId, String name) {
+            this.roomTypeId = roomTypeId;
+            this.name = name;
+        }
+
+        /** 적재 직후 1회: 누적합 + sparse table 전체 계산 */
+        void build() {
+            for (int i = 0; i < HORIZON_DAYS; i++) pricePrefix[i + 1] = pricePrefix[i] + price[i];
+            rebuildMin(0, HORIZON_DAYS);
+        }
+
+        synchronized void add(int from, int to, int delta) {
+            from = Math.max(0, from);
+            to = Math.min(HORIZON_DAYS, to);
+            if (from >= to) return;
+            for (int i = from; i < to; i++) {
+                remaining[i] = Math.max(0, remaining[i] + delta);
+                sellable.set(i, open.get(i) && remaining[i] > 0);
+            }
+            rebuildMin(from, to);
+        }
+
+        /** [from, to) 가 바뀌었을 때 영향받는 sparse table 칸만 다시 계산 */
+        private void rebuildMin(int from, int to) {
+            for (int i = from; i < to; i++) minTable[0][i] = sellable.get(i) ? remaining[i] : 0;
+            for (int k = 1; k <= MAX_LEVEL; k++) {
+                int half = 1 << (k - 1);
+                int start = Math.max(0, from - (1 << k) + 1);
+                int end = Math.min(HORIZON_DAYS - (1 << k) + 1, to);
+                for (int i = start; i < end; i++) {
+                    minTable[k][i] = Math.min(minTable[k - 1][i], minTable[k - 1][i + half]);
+                }
+            }
+        }
+
+        /** [from, to) 판매가능 잔여 최솟값 — O(1), to - from <= MAX_NIGHTS */
+        synchronized int minRemaining(int from, int to) {
+            int k = 31 - Integer.numberOfLeadingZeros(to - from);
+            return Math.min(minTable[k][from], minTable[k][to - (1 << k)]);
+        }
+
+        /** [from, to) 1박가 합계 — O(1) */
+        long priceSum(int from, int to) {
+            return pricePrefix[to] - pricePrefix[from];
+        }
+
+        synchronized AvailabilityDto.RoomTypeAvailability read(long baseEpochDay, int from, int to, int qty) {
+            var days = new ArrayList<AvailabilityDto.DayAvailability>(to - from);
+            Integer cheapest = null;
+            boolean all = true;
+            for (int i = from; i < to; i++) {
+                boolean ok = sellable.get(i) && remaining[i] >= qty;
+                days.add(new AvailabilityDto.DayAvailability(
+                        LocalDate.ofEpochDay(baseEpochDay + i), remaining[i], price[i], ok));
+                if (ok) cheapest = (cheapest == null) ? price[i] : Math.min(cheapest, price[i]);
+                all &= ok;
+            }
+            return new AvailabilityDto.RoomTypeAvailability(roomTypeId, name, cheapest, all, days);
+        }
+    }
+
+    /** hotels / room_types / booking_day 전체 재적재 (기동 시, 매일 자정) */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 0 * * *")
+    public void reload() {
+        var tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        Snapshot next = null;
+        try {
+            next = tx.execute(status -> {
+                commitFence.writeLock().lock();
+                try {
+                    synchronized (swapLock) {
+                        duringReload = new ArrayList<>();
+                    }
+                    bookingDayRepository.existsById(0L); // 첫 읽기 = 이 트랜잭션의 스냅샷 시점
+                } finally {
+                    commitFence.writeLock().unlock();
+                }
+                LocalDate base = LocalDate.now();
+                return build(base,
+                        hotelRepository.findAll(),
+                        roomTypeRepository.findAll(),
+                        bookingDayRepository.findAllByStayDateBetween(base, base.plusDays(HORIZON_DAYS - 1)));
+            });
+        } finally {
+            synchronized (swapLock) {
+                if (next != null) {
+                    snapshot = next;
+                    for (InventoryChangedEvent e : duringReload) apply(next, e);
+                    log.info("Availability index loaded: {} room types from {} ({} changes replayed)",
+                            next.byRoomType().size(), LocalDate.ofEpochDay(next.baseEpochDay()), duringReload.size());
+                }
+                duringReload = null;
+            }
+        }
+    }
+
+    /**
+     * 주어진 엔티티 목록으로 인덱스 교체
+     *  - reload() 외에 벤치마크/부하 테스트에서 생성 데이터 적재용으로도 사용
+     */
+    public void load(LocalDate base, List<Hotel> hotels, List<RoomType> roomTypes, List<BookingDay> days) {
+        Snapshot next = build(base, hotels, roomTypes, days);
+        synchronized (swapLock) {
+            snapshot = next;
+        }
+        log.info("Availability index loaded: {} room types from {}", next.byRoomType().size(), base);
+    }
+
+    private Snapshot build(LocalDate base, List<Hotel> hotels, List<RoomType> roomTypes, List<BookingDay> days) {
+        Map<Long, List<RoomTypeCalendar>> byHotel = new HashMap<>();
+        Map<Long, RoomTypeCalendar> byRoomType = new HashMap<>();
+
+        for (RoomType rt : roomTypes) {
+            if (rt.getHotel() == null) continue;
+            var cal = new RoomTypeCalendar(rt.getId(), rt.getName());
+            // 당일가가 없으면 기본가 (findRoomTypesTodayByHotelId 와 동일 규칙)
+            Arrays.fill(cal.price, rt.getPrice() == null ? 0 : rt.getPrice());
+            byHotel.computeIfAbsent(rt.getHotel().getId(), k -> new ArrayList<>()).add(cal);
+            byRoomType.put(rt.getId(), cal);
+        }
+
+        for (BookingDay d : days) {
+            RoomTypeCalendar cal = byRoomType.get(d.getRoomTypeId());
+            if (cal == null) continue;
+            int i = (int) (d.getStayDate().toEpochDay() - base.toEpochDay());
+            if (i < 0 || i >= HORIZON_DAYS) continue;
+            int allotment = d.getAllotment() == null ? 0 : d.getAllotment();
+            int booked = d.getBooked() == null ? 0 : d.getBooked();
+            cal.remaining[i] = Math.max(0, allotment - booked);
+            if (d.getPrice() != null && d.getPrice() > 0) cal.price[i] = d.getPrice();
+            cal.open.set(i, d.getStatus() == BookingDayStatus.OPEN);
+            cal.sellable.set(i, cal.open.get(i) && cal.remaining[i] > 0);
+        }
+        byRoomType.values().forEach(RoomTypeCalendar::build);
+        byHotel.values().forEach(list -> list.sort((a, b) -> Long.compare(a.roomTypeId, b.roomTypeId)));
+
+        Map<String, List<HotelEntry>> byRegion = new HashMap<>();
+        for (Hotel h : hotels) {
+            if (h.getRegion() == null) continue;
+            byRegion.computeIfAbsent(h.getRegion(), k -> new ArrayList<>())
+                    .add(new HotelEntry(h.getId(), h.getName(), h.getRegion(), byHotel.getOrDefault(h.getId(), List.of())));
+        }
+        return new Snapshot(base.toEpochDay(), byRegion, byHotel, byRoomType);
+    }
+
+    /**
+     * 홀드/해제 증분 반영
+     *  - 커밋 직전 울타리(읽기 잠금) 획득 → 커밋되면 반영 후 해제, 롤백이면 해제만
+     *  - 재적재 중이면 기록도 함께 (새 스냅샷이 이 변경을 못 읽었음 → 교체 시 재적용)
+     *  - 기록 여부와 대상 스냅샷을 같은 잠금 안에서 결정 → 교체 직후 스냅샷에 이중 반영되지 않음
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onInventoryChanged(InventoryChangedEvent e) {
+        commitFence.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) applyCommitted(e);
+                } finally {
+                    commitFence.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void applyCommitted(InventoryChangedEvent e) {
+        Snapshot s;
+        synchronized (swapLock) {
+            if (duringReload != null) duringReload.add(e);
+            s = snapshot;
+        }
+        apply(s, e);
+    }
+
+    private static void apply(Snapshot s, InventoryChangedEvent e) {
+        RoomTypeCalendar cal = s.byRoomType().get(e.roomTypeId());
+        if (cal == null) return;
+        cal.add((int) (e.checkIn().toEpochDay() - s.baseEpochDay()),
+                (int) (e.checkOut().toEpochDay() - s.baseEpochDay()),
+                e.remainingDelta());
+    }
+
+    /** hotelId 의 룸타입이 인덱스에 있는지 (false 여도 호텔이 없다는 뜻은 아님 — 스냅샷은 기동/자정에만 재적재) */
+    public boolean hasHotel(long hotelId) {
+        return snapshot.byHotel().containsKey(hotelId);
+    }
+
+    /** [from, to) 가용성 — from < to, qty >= 1 검증은 호출측(HotelService) 책임 */
+    public List<AvailabilityDto.RoomTypeAvailability> find(long hotelId, LocalDate from, LocalDate to, int qty) {
+        Snapshot s = snapshot;
+        int i = (int) (from.toEpochDay() - s.baseEpochDay());
+        int j = (int) (to.toEpochDay() - s.baseEpochDay());
+        checkHorizon(i, j);
+        return s.byHotel().getOrDefault(hotelId, List.of()).stream()
+                .map(cal -> cal.read(s.baseEpochDay(), i, j, qty))
+                .toList();
+    }
+
+    /**
+     * 지역 숙박 검색 — region 의 모든 룸타입 중 [checkIn, checkOut) 전 일자에 qty 이상 판매 가능한 것
+     *  - 후보 1개당 O(1) (sparse table 최솟값 + 누적합), 정렬/페이징은 호출측 책임
+     *  - checkIn < checkOut, 숙박일수 <= MAX_NIGHTS 검증은 호출측(HotelService) 책임
+     */
+    public List<StaySearchDto.Item> search(String region, LocalDate checkIn, LocalDate checkOut, int qty) {
+        Snapshot s = snapshot;
+        int i = (int) (checkIn.toEpochDay() - s.baseEpochDay());
+        int j = (int) (checkOut.toEpochDay() - s.baseEpochDay());
+        checkHorizon(i, j);
+
+        List<StaySearchDto.Item> items = new ArrayList<>();
+        for (HotelEntry h : s.byRegion().getOrDefault(region, List.of())) {
+            for (RoomTypeCalendar cal : h.roomTypes()) {
+                int min = cal.minRemaining(i, j);
+                if (min < qty) continue;
+                items.add(new StaySearchDto.Item(h.hotelId(), h.name(), h.region(),
+                        cal.roomTypeId, cal.name, cal.priceSum(i, j) * qty, min));
+            }
+        }
+        return items;
+    }
+
+    private static void checkHorizon(int from, int to) {
+        if (from < 0 || to > HORIZON_DAYS) {
+            throw new IllegalArgumentException("조회 가능 기간은 오늘부터 " + HORIZON_DAYS + "일입니다.");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+// src/main/java/com/example/hotelres/hotel/FeaturedHotelCache.java
+package com.example.hotelres.hotel;
+
+import com.example.hotelres.hotel.dto.FeaturedHotelDto;
+import com.example.hotelres.outbox.OutboxMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * ================================================================
+ * FeaturedHotelCache
+ * ---------------------------------------------------------------
+ *  - /api/hotels/featured, /api/hotels/{id}/featured 응답(FeaturedHotelDto) read-through 캐시.
+ *  - DTO 와 함께 직렬화된 JSON(UTF-8 byte[])과 강한 ETag(SHA-256) 를 보관 → 요청마다 재직렬화 없음.
+ *  - 키: hotelId / 최대 maxSize 개 / TTL ttlSeconds
+ *  - 무효화: 오늘 날짜가 포함된 홀드/해제/취소(아웃박스 OutboxMessage, OutboxRelay 발행) 시 해당 호텔만 제거.
+ *    (릴레이 주기만큼 늦을 수 있으나 TTL 보다 짧음)
+ *  - 자정 전환: 조회 쿼리가 CURRENT_DATE() 기준이므로 적재일 != 오늘이면 miss 처리.
+ *  - 적재 중 무효화가 끼어들면(버전 불일치) 오래된 값을 넣지 않는다.
+ *  - 메트릭: hotel.featured.cache{result=hit|miss}, hotel.featured.cache.size
+ * ================================================================
+ */
+@Component
+public class FeaturedHotelCache {
+
+    /** 캐시 항목: DTO + 직렬화된 응답 바이트 + ETag */
+    public record Entry(FeaturedHotelDto dto, byte[] json, String etag, LocalDate day, long loadedAtMillis) {}
+
+    private final HotelService hotelService;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public FeaturedHotelCache(HotelService hotelService,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.hotel.featured-cache.max-size:1000}") int maxSize,
+                              @Value("${app.hotel.featured-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.hotelService = hotelService;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.hits = meterRegistry.counter("hotel.featured.cache", "result", "hit");
+        this.misses = meterRegistry.counter("hotel.featured.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("hotel.featured.cache.size", List.of(), entries);
+    }
+
+    public Entry get(Long hotelId) {
+        LocalDate today = LocalDate.now();
+        long now = System.currentTimeMillis();
+
+        Entry e = entries.get(hotelId);
+        if (e != null && e.day().equals(today) && now - e.loadedAtMillis() < ttlMillis) {
+            hits.increment();
+            return e;
+        }
+
+        misses.increment();
+        Long version = versions.get(hotelId);
+        FeaturedHotelDto dto = hotelService.getHotelWithRoomTypes(hotelId);
+        byte[] json = encode(dto);
+        Entry loaded = new Entry(dto, json, etag(json), today, now);
+        if (Objects.equals(version, versions.get(hotelId))) {
+            if (entries.size() >= maxSize && !entries.containsKey(hotelId)) evictOldest();
+            entries.put(hotelId, loaded);
+            // put 직전에 무효화가 끼어들었으면 방금 넣은 값을 되돌림
+            if (!Objects.equals(version, versions.get(hotelId))) entries.remove(hotelId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long hotelId) {
+        versions.merge(hotelId, 1L, Long::sum);
+        entries.remove(hotelId);
+    }
+
+    /** 오늘 날짜가 포함된 홀드 생성/해제/취소만 해당 호텔 무효화 (아웃박스, 재전달돼도 무해) */
+    @EventListener
+    public void onOutbox(OutboxMessage m) {
+        if (!"HOLD".equals(m.aggregateType())) return;
+        LocalDate today = LocalDate.now();
+        LocalDate checkIn = LocalDate.parse(m.payload().get("checkIn").asText());
+        LocalDate checkOut = LocalDate.parse(m.payload().get("checkOut").asText());
+        if (!today.isBefore(checkIn) && today.isBefore(checkOut)) invalidate(m.payload().get("hotelId").asLong());
+    }
+
+    private byte[] encode(FeaturedHotelDto dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("featured 직렬화 실패", ex);
+        }
+    }
+
+    /** 강한 ETag: 응답 바이트 SHA-256 앞 16바이트 hex */
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void evictOldest() {
+        entries.entrySet().stream()
+                .min(Comparator.comparingLong(x -> x.getValue().loadedAtMillis()))
+                .ifPresent(x -> entries.remove(x.getKey(), x.getValue()));
+    }
+}
@@ -1,9 +1,16 @@
 // src/main/java/com/example/hotelres/hotel/HotelController.java
 package com.example.hotelres.hotel;
 
-import com.example.hotelres.hotel.dto.FeaturedHotelDto;
+import com.example.hotelres.hotel.dto.AvailabilityDto;
+import com.example.hotelres.hotel.dto.StaySearchDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/hotels") // ← 클래스 레벨 prefix
@@ -11,16 +18,50 @@ import org.springframework.web.bind.annotation.*;
 public class HotelController {
 
     private final HotelService hotelService;
+    private final FeaturedHotelCache featuredHotelCache;
 
     // 1) 호텔ID로 호출하는 버전: GET /api/hotels/2/featured
     @GetMapping("/{hotelId}/featured")
-    public FeaturedHotelDto featured(@PathVariable Long hotelId) {
-        return hotelService.getHotelWithRoomTypes(hotelId);
+    public ResponseEntity<byte[]> featured(@PathVariable Long hotelId, WebRequest request) {
+        return featuredResponse(hotelId, request);
     }
 
     // 2) (선택) 2번 호텔로 고정하는 버전: GET /api/hotels/featured
     @GetMapping("/featured")
-    public FeaturedHotelDto featuredFixed() {
-        return hotelService.getHotelWithRoomTypes(2L);
+    public ResponseEntity<byte[]> featuredFixed(WebRequest request) {
+        return featuredResponse(2L, request);
+    }
+
+    /** 캐시에 미리 직렬화된 JSON 바이트를 그대로 응답, If-None-Match 일치 시 304 */
+    private ResponseEntity<byte[]> featuredResponse(Long hotelId, WebRequest request) {
+        var cached = featuredHotelCache.get(hotelId);
+        if (request.checkNotModified(cached.etag())) {
+            return null; // 304 는 checkNotModified 가 이미 설정
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(cached.etag())
+                .body(cached.json());
+    }
+
+    // 3) 기간 가용성 달력: GET /api/hotels/2/availability?from=2025-10-01&to=2025-10-05&qty=1
+    @GetMapping("/{hotelId}/availability")
+    public AvailabilityDto availability(@PathVariable Long hotelId,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        @RequestParam(defaultValue = "1") int qty) {
+        return hotelService.getAvailability(hotelId, from, to, qty);
+    }
+
+    // 4) 지역 숙박 검색: GET /api/hotels/search?region=서울&checkIn=2025-10-01&checkOut=2025-10-03&guests=2&page=0&size=20&sort=price
+    @GetMapping("/search")
+    public StaySearchDto search(@RequestParam String region,
+                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+                                @RequestParam(defaultValue = "1") int guests,
+                                @RequestParam(defaultValue = "0") int page,
+                                @RequestParam(defaultValue = "20") int size,
+                                @RequestParam(defaultValue = "price") String sort) {
+        return hotelService.search(region, checkIn, checkOut, guests, page, size, sort);
     }
 }
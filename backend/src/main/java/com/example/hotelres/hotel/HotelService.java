@@ -1,18 +1,23 @@
 // src/main/java/com/example/hotelres/hotel/HotelService.java
 package com.example.hotelres.hotel;
 
+import com.example.hotelres.hotel.dto.AvailabilityDto;
 import com.example.hotelres.hotel.dto.FeaturedHotelDto;
+import com.example.hotelres.hotel.dto.StaySearchDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 
 @Service
 @RequiredArgsConstructor
 public class HotelService {
     private final HotelRepository hotelRepository;
     private final RoomTypeRepository roomTypeRepository;
+    private final AvailabilityIndex availabilityIndex;
 
     @Transactional(readOnly = true)
     public FeaturedHotelDto getHotelWithRoomTypes(Long hotelId) {
@@ -28,4 +33,53 @@ public class HotelService {
 
         return new FeaturedHotelDto(h.getId(), h.getName(), h.getRegion(), roomTypes);
     }
+
+    /**
+     * 기간 가용성 — AvailabilityIndex(메모리)에서 응답, booking_day 조회 없음
+     *  - 인덱스에 없는 호텔(룸타입이 없거나 마지막 재적재 이후 추가됨)은 hotels 로 존재만 확인 → 빈 목록
+     */
+    public AvailabilityDto getAvailability(Long hotelId, LocalDate from, LocalDate to, int qty) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("종료일은 시작일보다 뒤여야 합니다.");
+        }
+        if (qty < 1) {
+            throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
+        }
+        if (!availabilityIndex.hasHotel(hotelId) && !hotelRepository.existsById(hotelId)) {
+            throw new IllegalArgumentException("호텔 없음: " + hotelId);
+        }
+        return new AvailabilityDto(hotelId, from, to, qty, availabilityIndex.find(hotelId, from, to, qty));
+    }
+
+    /**
+     * 지역 숙박 검색 — AvailabilityIndex(메모리)에서 후보 평가 후 가격 정렬/페이징
+     *  - 수량 = 인원 (ReservationService.createHold 와 동일 규칙)
+     *  - sort: "price"(기본, 오름차순) 또는 "price,desc"
+     */
+    public StaySearchDto search(String region, LocalDate checkIn, LocalDate checkOut, int guests,
+                                int page, int size, String sort) {
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("체크아웃은 체크인보다 뒤여야 합니다.");
+        }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > AvailabilityIndex.MAX_NIGHTS) {
+            throw new IllegalArgumentException("최대 " + AvailabilityIndex.MAX_NIGHTS + "박까지 검색할 수 있습니다.");
+        }
+        if (page < 0 || size < 1 || size > 100) {
+            throw new IllegalArgumentException("page >= 0, 1 <= size <= 100 이어야 합니다.");
+        }
+        int qty = Math.max(1, guests);
+
+        Comparator<StaySearchDto.Item> order = Comparator
+                .comparingLong(StaySearchDto.Item::totalPrice)
+                .thenComparing(StaySearchDto.Item::roomTypeId);
+        if ("price,desc".equalsIgnoreCase(sort)) order = order.reversed();
+
+        var all = availabilityIndex.search(region, checkIn, checkOut, qty);
+        var items = all.stream()
+                .sorted(order)
+                .skip((long) page * size)
+                .limit(size)
+                .toList();
+        return new StaySearchDto(region, checkIn, checkOut, qty, page, size, all.size(), items);
+    }
 }
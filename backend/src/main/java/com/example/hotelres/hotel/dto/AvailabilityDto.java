@@ -0,0 +1,28 @@
+// src/main/java/com/example/hotelres/hotel/dto/AvailabilityDto.java
+package com.example.hotelres.hotel.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AvailabilityDto(
+        Long hotelId,
+        LocalDate from,
+        LocalDate to,
+        int qty,
+        List<RoomTypeAvailability> roomTypes
+) {
+    public record RoomTypeAvailability(
+            Long roomTypeId,
+            String name,
+            Integer cheapestPrice,   // qty 만큼 판매 가능한 날 중 최저 1박가 (없으면 null)
+            boolean availableAllNights,
+            List<DayAvailability> days
+    ) {}
+
+    public record DayAvailability(
+            LocalDate date,
+            int remaining,
+            int price,
+            boolean sellable         // OPEN && remaining >= qty
+    ) {}
+}
@@ -0,0 +1,26 @@
+// src/main/java/com/example/hotelres/hotel/dto/StaySearchDto.java
+package com.example.hotelres.hotel.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record StaySearchDto(
+        String region,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        int guests,
+        int page,
+        int size,
+        long totalElements,
+        List<Item> items
+) {
+    public record Item(
+            Long hotelId,
+            String hotelName,
+            String region,
+            Long roomTypeId,
+            String roomTypeName,
+            long totalPrice,     // 숙박 전체 금액 (1박가 합계 * 수량)
+            int minRemaining     // 구간 중 최소 잔여 수량
+    ) {}
+}
@@ -0,0 +1,17 @@
+package com.example.hotelres.outbox;
+
+/** outbox_events.event_type — 집계별 상태 변화 */
+public enum OutboxEventType {
+    /** 홀드 생성 (재고 차감) — aggregate = HOLD / holdCode */
+    HOLD_CREATED,
+    /** 만료 홀드 해제 (재고 복구) — aggregate = HOLD / holdCode */
+    HOLD_RELEASED,
+    /** 홀드 수동 취소 (재고 복구) — aggregate = HOLD / holdCode */
+    HOLD_CANCELLED,
+    /** 결제 승인 → 예약 확정 (홀드 삭제, 재고 유지) — aggregate = PAYMENT / orderId */
+    PAYMENT_CONFIRMED,
+    /** 결제 승인 후 예약 확정 실패 → 토스 결제 취소(환불) 필요 — aggregate = PAYMENT / orderId */
+    PAYMENT_REFUND_REQUIRED,
+    /** 계정 잠금/비밀번호 재설정 → 그 시각 이전에 발급된 access 토큰 무효 — aggregate = USER / loginId */
+    USER_TOKENS_REVOKED
+}
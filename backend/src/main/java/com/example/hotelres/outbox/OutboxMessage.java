@@ -0,0 +1,13 @@
+package com.example.hotelres.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+
+/**
+ * OutboxRelay 가 커밋된 아웃박스 행을 id 순으로 발행하는 애플리케이션 이벤트
+ *  - 리스너: @EventListener public void on(OutboxMessage m)
+ *  - 최소 1회 전달 (발행 후 published_at 기록 전 중단되면 재전달) → 리스너는 멱등이어야 함
+ */
+public record OutboxMessage(long id, String aggregateType, String aggregateId,
+                            OutboxEventType eventType, JsonNode payload, LocalDateTime createdAt) {}
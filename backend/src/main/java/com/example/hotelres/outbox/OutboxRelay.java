@@ -0,0 +1,144 @@
+package com.example.hotelres.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * ================================================================
+ * OutboxRelay
+ * ---------------------------------------------------------------
+ *  - 미발행 outbox_events 를 id 순으로 batchSize 개씩 읽어 OutboxMessage 로 프로세스 내 리스너에 발행,
+ *    배치마다 UPDATE 1회로 published_at 기록. 배치가 가득 차 있으면 이어서 다음 배치.
+ *  - 순서: 같은 집계(홀드/주문)의 이벤트는 그 집계의 행 락으로 직렬화된 트랜잭션에서 기록되므로 id 순 = 발생 순.
+ *    서로 다른 집계 사이에는 커밋 순서와 id 순서가 다를 수 있음 (늦게 커밋된 작은 id 는 다음 회차에 발행)
+ *  - 최소 1회 전달: 발행 후 표시 전에 중단되면 재전달. 리스너 예외는 기록만 하고 다음 이벤트로 진행
+ *    (프로세스 내 캐시/인덱스는 멱등 + 주기적 재적재로 자기 복구)
+ *  - 발행된 행은 retention 이 지나면 purge() 로 삭제
+ *  - 단일 노드 전제 (InventoryLedger 와 동일). 다중 노드면 노드별 커서 또는 SKIP LOCKED 분배가 필요
+ *  - 메트릭: outbox.relay.batch.size, outbox.relay.lag (기록→발행 지연), outbox.dispatched,
+ *           outbox.dispatch.failed, outbox.purged
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    /** UPDATE ... IN (...) / DELETE 한 번에 다룰 최대 행 수 */
+    private static final int PURGE_CHUNK = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration retention;
+    private final DistributionSummary batchSizes;
+    private final Timer lag;
+    private final Counter dispatched;
+    private final Counter failed;
+    private final Counter purged;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       ObjectMapper objectMapper,
+                       ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.retention-hours:24}") long retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.retention = Duration.ofHours(retentionHours);
+        this.batchSizes = meterRegistry.summary("outbox.relay.batch.size");
+        this.lag = meterRegistry.timer("outbox.relay.lag");
+        this.dispatched = meterRegistry.counter("outbox.dispatched");
+        this.failed = meterRegistry.counter("outbox.dispatch.failed");
+        this.purged = meterRegistry.counter("outbox.purged");
+    }
+
+    /**
+     * 미발행 이벤트를 모두 발행 (OutboxRelayJob / 테스트에서 호출, 동시 실행은 직렬화)
+     * 반환값: 발행한 이벤트 수
+     */
+    public synchronized int drain() {
+        int total = 0;
+        while (true) {
+            List<OutboxMessage> batch = jdbcTemplate.query(
+                    "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at"
+                            + " FROM outbox_events WHERE published_at IS NULL ORDER BY id LIMIT ?",
+                    this::map, batchSize);
+            if (batch.isEmpty()) break;
+
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxMessage m : batch) {
+                try {
+                    eventPublisher.publishEvent(m);
+                    dispatched.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    log.warn("Outbox listener failed: id={}, type={}, aggregateId={} ({})",
+                            m.id(), m.eventType(), m.aggregateId(), e.getMessage());
+                }
+                lag.record(Duration.between(m.createdAt(), now));
+            }
+            markPublished(batch, now);
+            batchSizes.record(batch.size());
+            total += batch.size();
+
+            if (batch.size() < batchSize) break;
+        }
+        return total;
+    }
+
+    /** retention 이 지난 발행 완료 행 삭제 (작은 단위로 반복해 긴 락/언두 방지) */
+    public int purge() {
+        Timestamp before = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        int total = 0, deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM outbox_events WHERE published_at IS NOT NULL AND published_at < ? LIMIT " + PURGE_CHUNK,
+                    before);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK);
+        purged.increment(total);
+        return total;
+    }
+
+    private void markPublished(List<OutboxMessage> batch, LocalDateTime now) {
+        String in = String.join(",", Collections.nCopies(batch.size(), "?"));
+        Object[] args = new Object[batch.size() + 1];
+        args[0] = Timestamp.valueOf(now);
+        for (int i = 0; i < batch.size(); i++) args[i + 1] = batch.get(i).id();
+        jdbcTemplate.update("UPDATE outbox_events SET published_at = ? WHERE id IN (" + in + ")", args);
+    }
+
+    private OutboxMessage map(ResultSet rs, int row) throws SQLException {
+        try {
+            return new OutboxMessage(
+                    rs.getLong("id"),
+                    rs.getString("aggregate_type"),
+                    rs.getString("aggregate_id"),
+                    OutboxEventType.valueOf(rs.getString("event_type")),
+                    objectMapper.readTree(rs.getString("payload")),
+                    rs.getTimestamp("created_at").toLocalDateTime());
+        } catch (IOException e) {
+            throw new SQLException("아웃박스 payload 파싱 실패: id=" + rs.getLong("id"), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.hotelres.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelayJob {
+    private final OutboxRelay outboxRelay;
+
+    // 커밋된 아웃박스 이벤트 → 프로세스 내 리스너 발행
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void run() {
+        int published = outboxRelay.drain();
+        if (published > 0) log.debug("Outbox relayed: {} events", published);
+    }
+
+    // 발행 완료 후 보존 기간이 지난 행 정리
+    @Scheduled(cron = "${app.outbox.purge-cron:0 15 * * * *}")
+    public void purge() {
+        int purged = outboxRelay.purge();
+        if (purged > 0) log.info("Outbox purged: {} events", purged);
+    }
+}
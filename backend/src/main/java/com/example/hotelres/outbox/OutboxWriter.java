@@ -0,0 +1,93 @@
+package com.example.hotelres.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * ================================================================
+ * OutboxWriter
+ * ---------------------------------------------------------------
+ *  - 상태 변경과 "같은 트랜잭션"에 outbox_events 행을 기록 → 커밋되면 이벤트도 반드시 남고,
+ *    롤백되면 이벤트도 사라짐 (이중 기록/유실 없음)
+ *  - append() 는 트랜잭션별 버퍼에만 쌓고, 커밋 직전(beforeCommit) 다중 행 INSERT 한 번으로 기록
+ *    (만료 홀드 배치 해제처럼 한 트랜잭션에서 수백 건이 나와도 왕복 1회)
+ *  - 버퍼는 트랜잭션 동기화 객체에 붙어 있어 REQUIRES_NEW 등 중첩 트랜잭션과 섞이지 않음
+ *  - 트랜잭션 밖 호출은 IllegalStateException (아웃박스의 원자성 보장이 의미 없어짐)
+ * ================================================================
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    /** INSERT 한 문장에 담을 최대 행 수 (행당 바인드 파라미터 5개) */
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void append(OutboxEventType type, String aggregateType, String aggregateId, Object payload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("아웃박스 이벤트는 트랜잭션 안에서만 기록할 수 있습니다: " + type);
+        }
+        buffer().rows.add(new Object[]{
+                aggregateType, aggregateId, type.name(), json(payload), Timestamp.valueOf(LocalDateTime.now())});
+    }
+
+    /** 현재 트랜잭션의 버퍼 (없으면 생성 + 동기화 등록) */
+    private Buffer buffer() {
+        for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+            if (s instanceof Buffer b && b.owner == this) return b;
+        }
+        Buffer b = new Buffer(this);
+        TransactionSynchronizationManager.registerSynchronization(b);
+        return b;
+    }
+
+    private void flush(List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            var chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO outbox_events(aggregate_type, aggregate_id, event_type, payload, created_at) VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 5);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+                args.addAll(List.of(chunk.get(i)));
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    private String json(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("아웃박스 payload 직렬화 실패", e);
+        }
+    }
+
+    /** 트랜잭션 1개 분량의 미기록 행 */
+    private static final class Buffer implements TransactionSynchronization {
+        final OutboxWriter owner;
+        final List<Object[]> rows = new ArrayList<>();
+
+        Buffer(OutboxWriter owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!rows.isEmpty()) owner.flush(rows);
+        }
+    }
+}
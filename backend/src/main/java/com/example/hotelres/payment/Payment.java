@@ -0,0 +1,51 @@
+package com.example.hotelres.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 승인 기록 — orderId 기준 멱등 처리의 기준 행
+ *  - order_id UNIQUE: 같은 주문의 중복 승인/중복 예약 생성 방지
+ *  - 확정되면 booking_id 에 생성된 예약을 연결
+ *  - hold_code 인덱스: 홀드 취소 시 진행 중(PENDING) 결제 확인
+ */
+@Entity
+@Table(name = "payments",
+       indexes = @Index(name = "idx_payments_hold_code", columnList = "hold_code"))
+@Getter @Setter
+@NoArgsConstructor
+public class Payment {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, length = 64, unique = true)
+    private String orderId;
+
+    @Column(name = "payment_key", nullable = false, length = 200)
+    private String paymentKey;
+
+    @Column(name = "hold_code", nullable = false, length = 40)
+    private String holdCode;
+
+    @Column(nullable = false)
+    private long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PaymentStatus status = PaymentStatus.PENDING;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "fail_reason", length = 255)
+    private String failReason;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
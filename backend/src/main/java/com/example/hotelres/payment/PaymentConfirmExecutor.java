@@ -0,0 +1,84 @@
+package com.example.hotelres.payment;
+
+import com.example.hotelres.payment.dto.ConfirmRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * PaymentConfirmExecutor (결제 확정 비동기 실행기)
+ * ---------------------------------------------------------------
+ *  - /confirm 은 CompletableFuture 를 반환하고 서블릿 스레드를 바로 반납 (MVC 비동기 처리)
+ *    → 토스 왕복 동안 tomcat 스레드를 잡지 않으므로 결제가 몰려도 /api/hotels 조회가 굶지 않음
+ *  - 실제 확정(PaymentService.confirm: 준비 Tx → 토스 → 확정 Tx)은 이 실행기에서 수행
+ *      기본: 전용 스레드 풀 workers 개 + 대기열 queueCapacity (가득 차면 즉시 거절 → 503)
+ *      spring.threads.virtual.enabled=true (Java 21 런타임): 요청마다 가상 스레드
+ *        (같은 속성으로 Spring Boot 가 tomcat/@Scheduled 도 가상 스레드로 전환)
+ *  - 토스 동시 호출 상한은 TossClient 벌크헤드가 별도로 지킴
+ *  - MVC 비동기 타임아웃으로 응답이 먼저 끊겨도 작업은 끝까지 수행 → 같은 orderId 재요청은 멱등
+ *  - 메트릭: executor.*{name=payment.confirm} (풀 모드), payment.confirm.rejected
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class PaymentConfirmExecutor {
+
+    private final PaymentService paymentService;
+    private final MeterRegistry meterRegistry;
+    private final Executor executor;
+    private final ThreadPoolExecutor pool; // 가상 스레드 모드면 null
+
+    public PaymentConfirmExecutor(PaymentService paymentService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                  @Value("${app.payment.confirm.workers:20}") int workers,
+                                  @Value("${app.payment.confirm.queue-capacity:500}") int queueCapacity) {
+        this.paymentService = paymentService;
+        this.meterRegistry = meterRegistry;
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("payment-confirm-");
+            virtual.setVirtualThreads(true);
+            this.executor = virtual;
+            this.pool = null;
+        } else {
+            AtomicInteger seq = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), r -> {
+                        Thread t = new Thread(r, "payment-confirm-" + seq.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "payment.confirm");
+        }
+        log.info("Payment confirm executor: {}", virtualThreads ? "virtual threads" : workers + " workers");
+    }
+
+    /** 확정 작업 제출. 대기열이 가득 차면 PaymentGatewayUnavailableException 으로 완료된 future */
+    public CompletableFuture<PaymentService.ConfirmResult> submit(ConfirmRequest req) {
+        try {
+            return CompletableFuture.supplyAsync(() -> paymentService.confirm(req), executor);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("payment.confirm.rejected").increment();
+            return CompletableFuture.failedFuture(
+                    new PaymentGatewayUnavailableException("결제 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) pool.shutdown();
+    }
+}
@@ -1,47 +1,55 @@
 package com.example.hotelres.payment;
 
 import com.example.hotelres.payment.dto.ConfirmRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 public class PaymentController {
 
-    private final TossClient tossClient;
+    private final PaymentConfirmExecutor paymentConfirmExecutor;
 
-    public PaymentController(TossClient tossClient) {
-        this.tossClient = tossClient;
+    public PaymentController(PaymentConfirmExecutor paymentConfirmExecutor) {
+        this.paymentConfirmExecutor = paymentConfirmExecutor;
     }
 
+    /** 비동기: 서블릿 스레드는 바로 반납, 확정이 끝나면 응답 (PaymentConfirmExecutor) */
     @PostMapping(value = "/confirm", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> confirm(@RequestBody ConfirmRequest req) {
-        try {
-            // 1) 토스 결제 확인
-            Map<String, Object> tossResp = tossClient.confirm(req);
-
-            // 2) TODO: 여기서 예약 재고 확정(비관적 락 or 원자적 UPDATE) 수행
-            // reservationService.confirmPaid(orderId, paymentKey, amount);
-
-            // 3) 프론트가 항상 JSON을 받도록 성공 응답 구성
-            Map<String, Object> body = new HashMap<>();
-            body.put("result", "PAID");
-            body.put("orderId", req.getOrderId());
-            body.put("paymentKey", req.getPaymentKey());
-            body.put("amount", req.getAmount());
-            body.put("toss", tossResp); // 필요 시만 포함
-
-            return ResponseEntity.ok(body);
-
-        } catch (Exception e) {
-            // 실패 시에도 항상 JSON으로!
-            Map<String, Object> err = new HashMap<>();
-            err.put("result", "FAIL");
-            err.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(err);
-        }
+    public CompletableFuture<ResponseEntity<?>> confirm(@RequestBody ConfirmRequest req) {
+        // 1) 토스 결제 확인 + 2) 홀드 → 예약 확정 (PaymentService: 준비 Tx → 토스 → 확정 Tx)
+        return paymentConfirmExecutor.submit(req)
+                .<ResponseEntity<?>>thenApply(PaymentController::paid)
+                .exceptionally(PaymentController::fail);
+    }
+
+    // 3) 프론트가 항상 JSON을 받도록 성공 응답 구성
+    private static ResponseEntity<?> paid(PaymentService.ConfirmResult result) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("result", "PAID");
+        body.put("orderId", result.orderId());
+        body.put("paymentKey", result.paymentKey());
+        body.put("amount", result.amount());
+        body.put("bookingId", result.bookingId());
+        body.put("voucherNo", result.voucherNo());
+        if (result.toss() != null) body.put("toss", result.toss()); // 이번 호출에서 승인한 경우만
+        return ResponseEntity.ok(body);
+    }
+
+    // 실패 시에도 항상 JSON으로! (결제사 보호/대기열 초과는 503, 나머지는 400)
+    private static ResponseEntity<?> fail(Throwable t) {
+        Throwable e = (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+        Map<String, Object> err = new HashMap<>();
+        err.put("result", "FAIL");
+        err.put("message", e.getMessage());
+        HttpStatus status = (e instanceof PaymentGatewayUnavailableException)
+                ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(err);
     }
 }
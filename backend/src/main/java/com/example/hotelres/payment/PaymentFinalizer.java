@@ -0,0 +1,57 @@
+package com.example.hotelres.payment;
+
+import com.example.hotelres.outbox.OutboxEventType;
+import com.example.hotelres.outbox.OutboxWriter;
+import com.example.hotelres.payment.dto.ConfirmRequest;
+import com.example.hotelres.reservation.Booking;
+import com.example.hotelres.reservation.ReservationService;
+import com.example.hotelres.reservation.RetryOnLockFailure;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/*
+ * ================================================================
+ * PaymentFinalizer (토스 승인 후 예약 확정 단계)
+ * ---------------------------------------------------------------
+ *  - PaymentService 3) 단계를 별도 빈으로 분리: @RetryOnLockFailure 는 프록시를 거쳐야 동작
+ *    → payments/홀드 행 락에서 데드락·락 타임아웃이 나도 새 트랜잭션으로 재시도
+ *      (토스는 이미 승인됐으므로 여기서 한 번 실패하면 환불 대상이 됨)
+ *  - 재시도 예산까지 실패하면 PaymentService 가 REFUND_REQUIRED 로 기록
+ * ================================================================
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentFinalizer {
+
+    private final PaymentRepository paymentRepository;
+    private final ReservationService reservationService;
+    private final OutboxWriter outboxWriter;
+
+    /** 아웃박스 payload — 결제 확정 */
+    private record PaymentConfirmedPayload(String orderId, String paymentKey, String holdCode,
+                                           long amount, long bookingId, String voucherNo) {}
+
+    /** payments 행 잠금 → 홀드 → Booking + BookingGuest 전환 → CONFIRMED (+ PAYMENT_CONFIRMED 아웃박스) */
+    @RetryOnLockFailure
+    @Transactional
+    public Payment finalizeBooking(ConfirmRequest req) {
+        Payment payment = paymentRepository.findByOrderIdForUpdate(req.getOrderId());
+        if (payment.getStatus() == PaymentStatus.CONFIRMED) return payment;
+        if (payment.getStatus() == PaymentStatus.REFUND_REQUIRED) {
+            throw new IllegalStateException("환불 처리 중인 주문입니다: " + payment.getOrderId());
+        }
+
+        Booking booking = reservationService.confirmHold(payment.getHoldCode(), req.getGuestName(), req.getPhone());
+        payment.setStatus(PaymentStatus.CONFIRMED);
+        payment.setBookingId(booking.getId());
+        outboxWriter.append(OutboxEventType.PAYMENT_CONFIRMED, "PAYMENT", payment.getOrderId(),
+                new PaymentConfirmedPayload(payment.getOrderId(), payment.getPaymentKey(), payment.getHoldCode(),
+                        payment.getAmount(), booking.getId(), booking.getVoucherNo()));
+        log.info("Payment confirmed: orderId={}, holdCode={}, bookingId={}",
+                payment.getOrderId(), payment.getHoldCode(), booking.getId());
+        return payment;
+    }
+}
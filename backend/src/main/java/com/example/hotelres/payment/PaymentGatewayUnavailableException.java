@@ -0,0 +1,8 @@
+package com.example.hotelres.payment;
+
+/** 토스 호출을 시도하지 않고 거절 (서킷 오픈 / 동시 호출 한도 초과) → 503 */
+public class PaymentGatewayUnavailableException extends RuntimeException {
+    public PaymentGatewayUnavailableException(String message) {
+        super(message);
+    }
+}
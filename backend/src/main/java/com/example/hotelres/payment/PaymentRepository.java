@@ -0,0 +1,20 @@
+package com.example.hotelres.payment;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    Payment findByOrderId(String orderId);
+
+    /** 홀드 취소 전 확인: 결제 승인이 진행 중인 홀드인지 */
+    boolean existsByHoldCodeAndStatus(String holdCode, PaymentStatus status);
+
+    /** 승인 준비/확정 단계에서 같은 주문 동시 처리를 직렬화 */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.orderId = :orderId")
+    Payment findByOrderIdForUpdate(@Param("orderId") String orderId);
+}
@@ -0,0 +1,174 @@
+package com.example.hotelres.payment;
+
+import com.example.hotelres.outbox.OutboxEventType;
+import com.example.hotelres.outbox.OutboxWriter;
+import com.example.hotelres.payment.dto.ConfirmRequest;
+import com.example.hotelres.reservation.Booking;
+import com.example.hotelres.reservation.BookingRepository;
+import com.example.hotelres.reservation.ReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/*
+ * ================================================================
+ * PaymentService (결제 승인 → 예약 확정 파이프라인)
+ * ---------------------------------------------------------------
+ *  1) 준비(짧은 트랜잭션): 홀드 잠금/검증/만료 유예 → payments(orderId) 행 확보
+ *       - 이미 CONFIRMED 면 외부 호출 없이 기존 결과 반환 (멱등)
+ *       - orderId 는 같은데 paymentKey/금액/홀드가 다르면 거절
+ *  2) 토스 승인 호출: 트랜잭션/DB 락 없이 수행 → 느린 PG 응답이 booking_day/홀드 락을 늘리지 않음
+ *       - Idempotency-Key = orderId 로 보내므로 재시도/중복 요청도 같은 승인 결과
+ *       - 실패 시 payments.status = FAILED (같은 orderId 로 재시도 가능)
+ *  3) 확정(짧은 트랜잭션, PaymentFinalizer): payments 행 잠금 → 홀드 → Booking + BookingGuest 전환 → CONFIRMED
+ *       - 동시에 들어온 같은 주문은 payments 행 락에서 직렬화, 뒤의 요청은 기존 예약 반환
+ *       - 같은 트랜잭션에 PAYMENT_CONFIRMED 아웃박스 이벤트 기록
+ *       - 데드락/락 타임아웃은 @RetryOnLockFailure 로 재시도
+ *       - 그래도 실패하면(홀드 소실 등) 돈만 빠져나간 상태 → payments.status = REFUND_REQUIRED +
+ *         PAYMENT_REFUND_REQUIRED 아웃박스 이벤트를 한 트랜잭션에 기록 (구독자가 토스 결제 취소)
+ *         REFUND_REQUIRED 주문은 같은 orderId 로 다시 확정하지 않음
+ *  - 승인 진행 중(PENDING) 홀드는 ReservationService.cancelHoldByCode 가 취소를 거절
+ * ================================================================
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentService {
+
+    /** 확정 결과 (toss 는 이번 호출에서 승인했을 때만 채워짐) */
+    public record ConfirmResult(String orderId, String paymentKey, long amount,
+                                Long bookingId, String voucherNo, Map<String, Object> toss) {}
+
+    private final TossClient tossClient;
+    private final PaymentRepository paymentRepository;
+    private final BookingRepository bookingRepository;
+    private final ReservationService reservationService;
+    private final PaymentFinalizer paymentFinalizer;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxWriter outboxWriter;
+
+    /** 아웃박스 payload — 환불 필요 */
+    private record PaymentRefundRequiredPayload(String orderId, String paymentKey, String holdCode,
+                                                long amount, String reason) {}
+
+    public ConfirmResult confirm(ConfirmRequest req) {
+        if (req.getOrderId() == null || req.getPaymentKey() == null || req.getHoldCode() == null) {
+            throw new IllegalArgumentException("orderId, paymentKey, holdCode 는 필수입니다.");
+        }
+
+        // 0) 이미 확정된 주문이면 바로 반환 (멱등)
+        Payment existing = paymentRepository.findByOrderId(req.getOrderId());
+        if (existing != null && existing.getStatus() == PaymentStatus.CONFIRMED) {
+            verifySameOrder(existing, req);
+            return result(existing, null);
+        }
+
+        // 1) 준비
+        Payment prepared;
+        try {
+            prepared = transactionTemplate.execute(status -> prepare(req));
+        } catch (IllegalArgumentException e) {
+            // 같은 주문의 동시 요청이 먼저 확정해 홀드가 사라진 경우
+            Payment done = paymentRepository.findByOrderId(req.getOrderId());
+            if (done != null && done.getStatus() == PaymentStatus.CONFIRMED) return result(done, null);
+            throw e;
+        }
+
+        // 2) 토스 승인 (락/트랜잭션 없음)
+        Map<String, Object> toss;
+        try {
+            toss = tossClient.confirm(req);
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> markFailed(req.getOrderId(), e.getMessage()));
+            throw e;
+        }
+
+        // 3) 확정 — 실패하면 승인된 결제를 환불 대상으로 남김
+        Payment confirmed;
+        try {
+            confirmed = paymentFinalizer.finalizeBooking(req);
+        } catch (RuntimeException e) {
+            markRefundRequired(req.getOrderId(), e);
+            throw e;
+        }
+        return result(confirmed, toss);
+    }
+
+    /**
+     * 홀드 행을 먼저 잠가 같은 홀드(= 같은 주문)에 대한 준비를 직렬화한 뒤 payments 행 확보
+     *  - payments 는 잠금 없이 조회: 없는 orderId 를 FOR UPDATE 하면 갭 락이 잡혀
+     *    서로 다른 주문끼리도 INSERT 에서 교착. 같은 주문은 이미 홀드 락으로 직렬화됨
+     *  - 다른 홀드로 같은 orderId 를 동시에 넣는 경우는 order_id UNIQUE 가 막음
+     */
+    private Payment prepare(ConfirmRequest req) {
+        reservationService.prepareHoldForPayment(req.getHoldCode(), req.getAmount());
+
+        Payment payment = paymentRepository.findByOrderId(req.getOrderId());
+        if (payment != null) {
+            verifySameOrder(payment, req);
+            if (payment.getStatus() == PaymentStatus.CONFIRMED) return payment;
+            if (payment.getStatus() == PaymentStatus.REFUND_REQUIRED) {
+                throw new IllegalArgumentException("환불 처리 중인 주문입니다.");
+            }
+        } else {
+            payment = new Payment();
+            payment.setOrderId(req.getOrderId());
+            payment.setPaymentKey(req.getPaymentKey());
+            payment.setHoldCode(req.getHoldCode());
+            payment.setAmount(req.getAmount());
+        }
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setFailReason(null);
+        return paymentRepository.save(payment);
+    }
+
+    private static void verifySameOrder(Payment payment, ConfirmRequest req) {
+        if (!payment.getPaymentKey().equals(req.getPaymentKey())
+                || payment.getAmount() != req.getAmount()
+                || !payment.getHoldCode().equals(req.getHoldCode())) {
+            throw new IllegalArgumentException("주문 정보가 기존 결제와 일치하지 않습니다.");
+        }
+    }
+
+    private void markFailed(String orderId, String reason) {
+        Payment payment = paymentRepository.findByOrderIdForUpdate(orderId);
+        if (payment == null || payment.getStatus() == PaymentStatus.CONFIRMED) return;
+        payment.setStatus(PaymentStatus.FAILED);
+        payment.setFailReason(truncate(reason));
+    }
+
+    /** 승인 후 확정 실패 → REFUND_REQUIRED + 아웃박스 (이미 다른 요청이 확정했으면 그대로 둠) */
+    private void markRefundRequired(String orderId, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Payment payment = paymentRepository.findByOrderIdForUpdate(orderId);
+                if (payment == null || payment.getStatus() == PaymentStatus.CONFIRMED
+                        || payment.getStatus() == PaymentStatus.REFUND_REQUIRED) return;
+                payment.setStatus(PaymentStatus.REFUND_REQUIRED);
+                payment.setFailReason(truncate(cause.getMessage()));
+                outboxWriter.append(OutboxEventType.PAYMENT_REFUND_REQUIRED, "PAYMENT", orderId,
+                        new PaymentRefundRequiredPayload(orderId, payment.getPaymentKey(), payment.getHoldCode(),
+                                payment.getAmount(), payment.getFailReason()));
+                log.error("Payment approved but booking failed, refund required: orderId={}, holdCode={} ({})",
+                        orderId, payment.getHoldCode(), cause.getMessage());
+            });
+        } catch (RuntimeException e) {
+            // 기록마저 실패하면 payments 는 PENDING 으로 남음 → 로그로 수동 확인
+            log.error("Failed to record refund: orderId={} ({})", orderId, e.getMessage(), cause);
+        }
+    }
+
+    private static String truncate(String reason) {
+        return reason == null ? null : reason.substring(0, Math.min(255, reason.length()));
+    }
+
+    private ConfirmResult result(Payment payment, Map<String, Object> toss) {
+        String voucherNo = (payment.getBookingId() == null) ? null
+                : bookingRepository.findById(payment.getBookingId()).map(Booking::getVoucherNo).orElse(null);
+        return new ConfirmResult(payment.getOrderId(), payment.getPaymentKey(), payment.getAmount(),
+                payment.getBookingId(), voucherNo, toss);
+    }
+}
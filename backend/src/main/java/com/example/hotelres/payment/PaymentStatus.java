@@ -0,0 +1,8 @@
+package com.example.hotelres.payment;
+
+public enum PaymentStatus {
+    PENDING,     // 토스 승인 요청 전/진행 중
+    CONFIRMED,   // 승인 + 예약 확정 완료
+    FAILED,      // 토스 승인 실패 (같은 orderId 로 재시도 가능)
+    REFUND_REQUIRED // 토스 승인 후 예약 확정 실패 → 환불 필요 (PAYMENT_REFUND_REQUIRED 아웃박스, 재시도 불가)
+}
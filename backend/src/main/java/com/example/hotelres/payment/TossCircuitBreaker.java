@@ -0,0 +1,130 @@
+package com.example.hotelres.payment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * ================================================================
+ * TossCircuitBreaker (토스 승인 호출 서킷 브레이커)
+ * ---------------------------------------------------------------
+ *  - 최근 windowSize 건(건수 기반 링 버퍼)의 실패율이 failureRateThreshold% 이상이면 OPEN
+ *    (minimumCalls 건 미만이면 판단 보류)
+ *  - OPEN: openMs 동안 호출 없이 즉시 거절 → 느린/죽은 PG 에 스레드를 묶어두지 않음
+ *  - openMs 경과 후 HALF_OPEN: 시험 호출 halfOpenCalls 건만 허용
+ *    전부 성공하면 CLOSED(창 초기화), 하나라도 실패하면 다시 OPEN
+ *  - 실패 = 연결 실패/타임아웃/5xx. 카드 거절 등 4xx 는 PG 상태와 무관하므로 성공으로 집계
+ *  - 호출량이 작아 synchronized 로 충분
+ *  - 메트릭: payment.toss.circuit.state (0=CLOSED, 1=HALF_OPEN, 2=OPEN)
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class TossCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openMs;
+    private final int halfOpenCalls;
+
+    /** 최근 호출 결과 (true = 실패) */
+    private final boolean[] window;
+    private int windowPos;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public TossCircuitBreaker(MeterRegistry meterRegistry,
+                              @Value("${toss.circuit.window-size:20}") int windowSize,
+                              @Value("${toss.circuit.minimum-calls:10}") int minimumCalls,
+                              @Value("${toss.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+                              @Value("${toss.circuit.open-ms:30000}") long openMs,
+                              @Value("${toss.circuit.half-open-calls:3}") int halfOpenCalls) {
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.min(Math.max(1, minimumCalls), window.length);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMs = openMs;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        meterRegistry.gauge("payment.toss.circuit.state", this, cb -> cb.state().ordinal());
+    }
+
+    /** 호출 허용 여부. true 를 받았으면 반드시 onSuccess/onFailure 중 하나를 호출 */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openMs) return false;
+                transition(State.HALF_OPEN);
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+                // fall through
+            default: // HALF_OPEN
+                if (halfOpenPermits == 0) return false;
+                halfOpenPermits--;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                resetWindow();
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (state == State.OPEN) return; // 오픈 직전에 출발한 호출의 늦은 실패
+        record(true);
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+            open();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == window.length) {
+            if (window[windowPos]) windowFailures--;
+        } else {
+            windowCount++;
+        }
+        window[windowPos] = failed;
+        if (failed) windowFailures++;
+        windowPos = (windowPos + 1) % window.length;
+    }
+
+    private void open() {
+        openedAt = System.currentTimeMillis();
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        windowPos = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private void transition(State next) {
+        if (state != next) log.warn("Toss circuit {} -> {}", state, next);
+        state = next;
+    }
+}
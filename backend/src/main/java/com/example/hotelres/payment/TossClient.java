@@ -1,32 +1,134 @@
 package com.example.hotelres.payment;
 
 import com.example.hotelres.payment.dto.ConfirmRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/*
+ * ================================================================
+ * TossClient (토스 결제 승인 API 클라이언트)
+ * ---------------------------------------------------------------
+ *  - 커넥션 풀(Apache HttpClient 5) + keep-alive 재사용
+ *      연결/응답 타임아웃, 풀 대기 타임아웃, 라우트당 최대 연결, 유휴/만료 연결 정리
+ *      자동 재시도는 끔 (지연 상한을 타임아웃으로 고정. 재시도는 호출자가 같은 orderId 로)
+ *  - 벌크헤드: 동시 승인 호출 maxConcurrent 건, 초과분은 maxWaitMs 만 기다리고 거절
+ *  - 서킷 브레이커(TossCircuitBreaker): PG 장애 시 호출 없이 즉시 거절
+ *    거절은 PaymentGatewayUnavailableException → 503
+ *  - 응답 타임아웃이어도 토스에선 승인됐을 수 있음 → Idempotency-Key 덕분에 같은 orderId 재시도가 안전
+ *  - 메트릭: payment.toss.confirm{outcome} (지연), payment.toss.rejected{reason},
+ *           httpcomponents.httpclient.pool.*{httpclient=toss} (풀 사용량)
+ * ================================================================
+ */
 @Component
+@Slf4j
 public class TossClient {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final CloseableHttpClient httpClient;
+    private final TossCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMs;
     private final String authHeader;
+    private final String confirmUrl;
 
-    public TossClient(@Value("${toss.secret-key}") String secretKey) {
+    public TossClient(@Value("${toss.secret-key}") String secretKey,
+                      @Value("${toss.base-url:https://api.tosspayments.com}") String baseUrl,
+                      @Value("${toss.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                      @Value("${toss.http.read-timeout-ms:10000}") long readTimeoutMs,
+                      @Value("${toss.http.pool-acquire-timeout-ms:1000}") long poolAcquireTimeoutMs,
+                      @Value("${toss.http.max-connections:50}") int maxConnections,
+                      @Value("${toss.http.max-connections-per-route:20}") int maxPerRoute,
+                      @Value("${toss.http.idle-evict-seconds:30}") long idleEvictSeconds,
+                      @Value("${toss.bulkhead.max-concurrent:20}") int maxConcurrent,
+                      @Value("${toss.bulkhead.max-wait-ms:200}") long bulkheadWaitMs,
+                      TossCircuitBreaker circuitBreaker,
+                      MeterRegistry meterRegistry) {
+        this.confirmUrl = baseUrl + "/v1/payments/confirm";
         String basic = secretKey + ":";
         String encoded = Base64.getEncoder()
                 .encodeToString(basic.getBytes(StandardCharsets.UTF_8));
         this.authHeader = "Basic " + encoded;
+
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .disableAutomaticRetries()
+                .build();
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        new PoolingHttpClientConnectionManagerMetricsBinder(pool, "toss").bindTo(meterRegistry);
     }
 
     public Map<String, Object> confirm(ConfirmRequest req) {
+        if (!acquireBulkhead()) {
+            reject("bulkhead");
+            throw new PaymentGatewayUnavailableException("결제 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                reject("circuit_open");
+                throw new PaymentGatewayUnavailableException("결제사 응답이 원활하지 않습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            return call(req);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        httpClient.close();
+    }
+
+    private Map<String, Object> call(ConfirmRequest req) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", authHeader);
         headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", req.getOrderId()); // 같은 주문 재요청은 토스에서도 같은 결과
 
         Map<String, Object> body = Map.of(
                 "paymentKey", req.getPaymentKey(),
@@ -35,12 +137,47 @@ public class TossClient {
         );
 
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-        ResponseEntity<Map> res = restTemplate.exchange(
-                "https://api.tosspayments.com/v1/payments/confirm",
-                HttpMethod.POST,
-                entity,
-                Map.class
-        );
-        return res.getBody();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ok";
+        try {
+            ResponseEntity<Map> res = restTemplate.exchange(
+                    confirmUrl,
+                    HttpMethod.POST,
+                    entity,
+                    Map.class
+            );
+            circuitBreaker.onSuccess();
+            return res.getBody();
+        } catch (HttpClientErrorException e) {
+            // 카드 거절/잘못된 요청 — PG 는 정상 응답한 것
+            outcome = "client_error";
+            circuitBreaker.onSuccess();
+            throw e;
+        } catch (HttpServerErrorException e) {
+            outcome = "server_error";
+            circuitBreaker.onFailure();
+            throw e;
+        } catch (RuntimeException e) {
+            // 연결 실패/타임아웃(ResourceAccessException) 등
+            outcome = "io_error";
+            circuitBreaker.onFailure();
+            log.warn("Toss confirm failed: orderId={} ({})", req.getOrderId(), e.getMessage());
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("payment.toss.confirm", "outcome", outcome));
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("payment.toss.rejected", "reason", reason).increment();
     }
 }
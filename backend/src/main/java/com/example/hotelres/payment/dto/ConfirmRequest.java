@@ -5,6 +5,10 @@ public class ConfirmRequest {
     private String orderId;
     private long amount; // 숫자! (문자열 아님)
 
+    private String holdCode;   // 결제 대상 홀드
+    private String guestName;  // 대표 투숙객 (booking_guests)
+    private String phone;      // 옵션
+
     public String getPaymentKey() { return paymentKey; }
     public void setPaymentKey(String paymentKey) { this.paymentKey = paymentKey; }
 
@@ -13,4 +17,13 @@ public class ConfirmRequest {
 
     public long getAmount() { return amount; }
     public void setAmount(long amount) { this.amount = amount; }
+
+    public String getHoldCode() { return holdCode; }
+    public void setHoldCode(String holdCode) { this.holdCode = holdCode; }
+
+    public String getGuestName() { return guestName; }
+    public void setGuestName(String guestName) { this.guestName = guestName; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
 }
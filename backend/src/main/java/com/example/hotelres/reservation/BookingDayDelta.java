@@ -0,0 +1,40 @@
+package com.example.hotelres.reservation;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 재고 원장(LEDGER 모드) 의 booked 변경 저널 — 스키마 정의용 매핑
+ *  - 홀드 생성/해제 트랜잭션 안에서 행 1개씩 INSERT (booking_day 행 락 없음, InventoryLedger 가 JDBC 로 기록)
+ *  - LedgerFlushJob 이 일자별로 합산해 booking_day.booked 에 반영하고 같은 트랜잭션에서 삭제
+ *  - 재기동 시 booked 에 아직 반영되지 않은 변경 = 이 테이블에 남은 행 → 원장 재구성에 포함
+ */
+@Entity
+@Table(name = "booking_day_deltas",
+       indexes = @Index(name = "idx_booking_day_deltas_range", columnList = "hotel_id, room_type_id, check_in"))
+@Getter
+@NoArgsConstructor
+public class BookingDayDelta {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "room_type_id", nullable = false)
+    private Long roomTypeId;
+
+    @Column(name = "check_in", nullable = false)
+    private LocalDate checkIn;
+
+    @Column(name = "check_out", nullable = false)
+    private LocalDate checkOut;
+
+    /** [checkIn, checkOut) 각 일자의 booked 증감 (홀드 +qty, 해제/취소 -qty) */
+    @Column(nullable = false)
+    private int delta;
+}
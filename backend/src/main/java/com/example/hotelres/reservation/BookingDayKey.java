@@ -0,0 +1,19 @@
+// path: src/main/java/com/example/hotelres/reservation/BookingDayKey.java
+package com.example.hotelres.reservation;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/** booking_day 한 행의 자연키 (hotel_id, room_type_id, stay_date) — 정렬 순서 = 락 획득 순서 */
+public record BookingDayKey(long hotelId, long roomTypeId, LocalDate stayDate) implements Comparable<BookingDayKey> {
+
+    private static final Comparator<BookingDayKey> ORDER = Comparator
+            .comparingLong(BookingDayKey::hotelId)
+            .thenComparingLong(BookingDayKey::roomTypeId)
+            .thenComparing(BookingDayKey::stayDate);
+
+    @Override
+    public int compareTo(BookingDayKey o) {
+        return ORDER.compare(this, o);
+    }
+}
@@ -8,7 +8,7 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
 
-public interface BookingDayRepository extends JpaRepository<BookingDay, Long> {
+public interface BookingDayRepository extends JpaRepository<BookingDay, Long>, BookingDayRepositoryCustom {
 
     /** 재고 차감/홀드 시 사용: 범위를 PESSIMISTIC_WRITE로 잠근다. */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
@@ -24,4 +24,41 @@ public interface BookingDayRepository extends JpaRepository<BookingDay, Long> {
                                    @Param("roomTypeId") Long roomTypeId,
                                    @Param("checkIn") LocalDate checkIn,
                                    @Param("checkOut") LocalDate checkOut);
+
+    /**
+     * 조건부 일괄 차감 (CONDITIONAL 모드): 판매 가능 + 잔여 >= qty 인 일자만 booked += qty
+     *  - 반환값(영향 행 수)이 숙박일수와 다르면 호출측이 예외로 롤백해야 함
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE booking_day
+           SET booked = booked + :qty
+         WHERE hotel_id     = :hotelId
+           AND room_type_id = :roomTypeId
+           AND stay_date   >= :checkIn
+           AND stay_date   <  :checkOut
+           AND is_sellable  = 1
+           AND remaining_qty >= :qty
+    """, nativeQuery = true)
+    int reserveRange(@Param("hotelId") Long hotelId,
+                     @Param("roomTypeId") Long roomTypeId,
+                     @Param("checkIn") LocalDate checkIn,
+                     @Param("checkOut") LocalDate checkOut,
+                     @Param("qty") int qty);
+
+    /** 구간 1박 가격 합계 (잠금 없음) */
+    @Query("""
+        SELECT COALESCE(SUM(bd.price), 0) FROM BookingDay bd
+         WHERE bd.hotelId    = :hotelId
+           AND bd.roomTypeId = :roomTypeId
+           AND bd.stayDate  >= :checkIn
+           AND bd.stayDate  <  :checkOut
+    """)
+    long sumPrice(@Param("hotelId") Long hotelId,
+                  @Param("roomTypeId") Long roomTypeId,
+                  @Param("checkIn") LocalDate checkIn,
+                  @Param("checkOut") LocalDate checkOut);
+
+    /** 가용성 인덱스(AvailabilityIndex) 적재용: 기간 내 전체 booking_day */
+    List<BookingDay> findAllByStayDateBetween(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,20 @@
+// path: src/main/java/com/example/hotelres/reservation/BookingDayRepositoryCustom.java
+package com.example.hotelres.reservation;
+
+import java.util.SortedMap;
+
+/** JPQL 로 표현하기 어려운 booking_day 일괄 처리 (구현: BookingDayRepositoryImpl) */
+public interface BookingDayRepositoryCustom {
+
+    /**
+     * 여러 (호텔, 룸타입, 일자)의 booked 를 각각 다른 수량만큼 한 번의 UPDATE 로 감소 (0 미만 방지)
+     * 반환값: 갱신된 행 수
+     */
+    int decrementBooked(SortedMap<BookingDayKey, Integer> decrements);
+
+    /**
+     * 여러 (호텔, 룸타입, 일자)의 booked 에 각각 다른 증감(음수 가능)을 한 번의 UPDATE 로 반영 (0 미만 방지)
+     * 반환값: 갱신된 행 수
+     */
+    int addBooked(SortedMap<BookingDayKey, Integer> deltas);
+}
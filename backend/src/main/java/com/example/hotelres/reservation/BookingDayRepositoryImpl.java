@@ -0,0 +1,68 @@
+// path: src/main/java/com/example/hotelres/reservation/BookingDayRepositoryImpl.java
+package com.example.hotelres.reservation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+@RequiredArgsConstructor
+class BookingDayRepositoryImpl implements BookingDayRepositoryCustom {
+
+    /** UPDATE 한 문장에 담을 최대 키 수 (키당 바인드 파라미터 4개) */
+    private static final int MAX_KEYS_PER_STATEMENT = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /*
+     * UPDATE booking_day bd
+     *   JOIN (SELECT ? hotel_id, ? room_type_id, ? stay_date, ? qty
+     *         UNION ALL SELECT ?, ?, ?, ? ...) x
+     *     ON bd.hotel_id = x.hotel_id AND bd.room_type_id = x.room_type_id AND bd.stay_date = x.stay_date
+     *    SET bd.booked = GREATEST(bd.booked - x.qty, 0)
+     */
+    @Override
+    public int decrementBooked(SortedMap<BookingDayKey, Integer> decrements) {
+        return updateBooked(decrements, "GREATEST(bd.booked - x.qty, 0)");
+    }
+
+    /* 위와 같은 형태, SET bd.booked = GREATEST(bd.booked + x.qty, 0) */
+    @Override
+    public int addBooked(SortedMap<BookingDayKey, Integer> deltas) {
+        return updateBooked(deltas, "GREATEST(bd.booked + x.qty, 0)");
+    }
+
+    private int updateBooked(SortedMap<BookingDayKey, Integer> quantities, String bookedExpr) {
+        if (quantities.isEmpty()) return 0;
+
+        int updated = 0;
+        List<Map.Entry<BookingDayKey, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        for (int from = 0; from < entries.size(); from += MAX_KEYS_PER_STATEMENT) {
+            var chunk = entries.subList(from, Math.min(entries.size(), from + MAX_KEYS_PER_STATEMENT));
+
+            StringBuilder sql = new StringBuilder("UPDATE booking_day bd JOIN (");
+            List<Object> args = new ArrayList<>(chunk.size() * 4);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0
+                        ? "SELECT ? AS hotel_id, ? AS room_type_id, ? AS stay_date, ? AS qty"
+                        : " UNION ALL SELECT ?, ?, ?, ?");
+                BookingDayKey k = chunk.get(i).getKey();
+                args.add(k.hotelId());
+                args.add(k.roomTypeId());
+                args.add(Date.valueOf(k.stayDate()));
+                args.add(chunk.get(i).getValue());
+            }
+            sql.append(") x ON bd.hotel_id = x.hotel_id")
+               .append(" AND bd.room_type_id = x.room_type_id")
+               .append(" AND bd.stay_date = x.stay_date")
+               .append(" SET bd.booked = ").append(bookedExpr);
+
+            updated += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        return updated;
+    }
+}
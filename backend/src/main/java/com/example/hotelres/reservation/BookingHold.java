@@ -3,7 +3,6 @@ package com.example.hotelres.reservation;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.UUID;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -55,6 +54,10 @@ public class BookingHold {
     @Column(nullable = false)
     private String currency = "KRW";
 
+    /** 재고를 메모리 원장(LEDGER)에서 차감했는지 — 해제 경로를 이 값으로 결정 (원장 범위는 자정마다 이동) */
+    @Column(name = "in_ledger", nullable = false)
+    private boolean inLedger;
+
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
@@ -65,6 +68,5 @@ public class BookingHold {
     void prePersist() {
         if (currency == null) currency = "KRW";
         if (expiresAt == null) expiresAt = LocalDateTime.now().plusMinutes(15);
-        if (holdCode == null)  holdCode  = "HLD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 }
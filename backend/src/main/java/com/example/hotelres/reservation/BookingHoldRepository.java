@@ -3,13 +3,49 @@ package com.example.hotelres.reservation;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface BookingHoldRepository extends JpaRepository<BookingHold, Long> {
-    boolean existsByHoldCode(String holdCode);
     BookingHold findByHoldCode(String holdCode);
+
+    /** 만료 타이머 해제용: 홀드 1건을 잠가서 조회 */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM BookingHold h WHERE h.holdCode = :holdCode")
+    BookingHold findByHoldCodeForUpdate(@Param("holdCode") String holdCode);
+
+    /** 만료 타이머 휠 재구성용: (holdCode, expiresAt) 만 조회 */
+    @Query("SELECT h.holdCode AS holdCode, h.expiresAt AS expiresAt FROM BookingHold h")
+    List<HoldExpiryView> findAllExpiries();
+
+    interface HoldExpiryView {
+        String getHoldCode();
+        LocalDateTime getExpiresAt();
+    }
     //  만료된 홀드 조회용
     List<BookingHold> findAllByExpiresAtBefore(LocalDateTime now);
+
+    /** 만료 홀드 배치 조회 (id 키셋 페이징) — 같은 홀드를 취소 API 와 이중 해제하지 않도록 잠근다. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT h FROM BookingHold h
+         WHERE h.expiresAt < :now
+           AND h.id > :afterId
+         ORDER BY h.id
+    """)
+    List<BookingHold> findExpiredBatch(@Param("now") LocalDateTime now,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    /** id 목록 일괄 삭제 (DELETE 1회) */
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,109 @@
+// path: src/main/java/com/example/hotelres/reservation/HierarchicalTimingWheel.java
+package com.example.hotelres.reservation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/*
+ * ================================================================
+ * HierarchicalTimingWheel
+ * ---------------------------------------------------------------
+ *  - 계층형 타이밍 휠. level i 의 한 칸 = tickMillis * wheelSize^i.
+ *    (tick 1초, 64칸, 3단이면 약 72시간까지 표현)
+ *  - 등록은 어느 스레드에서나 가능(pending 큐), 휠 구조 변경은 advanceTo() 를
+ *    호출하는 단일 스레드에서만 수행 → 락 없음.
+ *  - 상위 단 칸이 돌아오면 하위 단으로 재배치(cascade), level 0 칸이 돌아오면 만료 콜백.
+ *  - 표현 범위를 넘는 기한은 최상위 단 마지막 칸에 두고 cascade 때 다시 계산.
+ * ================================================================
+ */
+class HierarchicalTimingWheel<T> {
+
+    private record Entry<T>(long deadlineTick, T item) {}
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long startMillis;
+    private final List<List<ArrayDeque<Entry<T>>>> levels = new ArrayList<>();
+    private final Queue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Consumer<T> onExpire;
+
+    private long currentTick;
+
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis, Consumer<T> onExpire) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.startMillis = startMillis;
+        this.onExpire = onExpire;
+        for (int l = 0; l < levelCount; l++) {
+            List<ArrayDeque<Entry<T>>> slots = new ArrayList<>(wheelSize);
+            for (int s = 0; s < wheelSize; s++) slots.add(new ArrayDeque<>());
+            levels.add(slots);
+        }
+    }
+
+    /** 기한(epoch millis) 도달 시 onExpire(item) — 스레드 안전 */
+    void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(0, deadlineMillis - startMillis);
+        long deadlineTick = (tick + tickMillis - 1) / tickMillis; // 올림: 기한보다 먼저 울리지 않음
+        pending.add(new Entry<>(deadlineTick, item));
+    }
+
+    /** nowMillis 까지 휠을 진행하며 만료 항목 콜백 — 단일 스레드(틱 스레드) 전용 */
+    void advanceTo(long nowMillis) {
+        drainPending();
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            var slot = levels.get(0).get((int) (currentTick % wheelSize));
+            Entry<T> e;
+            while ((e = slot.poll()) != null) onExpire.accept(e.item());
+        }
+    }
+
+    private void drainPending() {
+        Entry<T> e;
+        while ((e = pending.poll()) != null) place(e);
+    }
+
+    /** 상위 단부터 현재 칸을 비워 하위 단으로 재배치 */
+    private void cascade() {
+        for (int l = levels.size() - 1; l >= 1; l--) {
+            long span = span(l);
+            if (currentTick % span != 0) continue;
+            var slot = levels.get(l).get((int) ((currentTick / span) % wheelSize));
+            List<Entry<T>> moved = new ArrayList<>(slot);
+            slot.clear();
+            moved.forEach(this::place);
+        }
+    }
+
+    private void place(Entry<T> e) {
+        long delay = e.deadlineTick() - currentTick;
+        if (delay <= 0) {
+            onExpire.accept(e.item());
+            return;
+        }
+        for (int l = 0; l < levels.size(); l++) {
+            long span = span(l);
+            if (delay < span * wheelSize) {
+                levels.get(l).get((int) ((e.deadlineTick() / span) % wheelSize)).add(e);
+                return;
+            }
+        }
+        // 표현 범위 초과: 최상위 단 마지막 칸에 보관, cascade 시 재계산
+        int top = levels.size() - 1;
+        long span = span(top);
+        levels.get(top).get((int) ((currentTick / span + wheelSize - 1) % wheelSize)).add(e);
+    }
+
+    private long span(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) span *= wheelSize;
+        return span;
+    }
+}
@@ -12,8 +12,8 @@ import org.springframework.stereotype.Component;
 public class HoldCleanupJob {
     private final ReservationService reservationService;
 
-    // 매 2분마다 만료 홀드 정리
-    @Scheduled(cron = "0 */2 * * * *")
+    // 안전망: 만료 해제는 HoldExpiryScheduler(타이밍 휠)가 정시에 처리, 여기선 누락분만 정리
+    @Scheduled(cron = "${app.reservation.hold-cleanup-cron:0 */10 * * * *}")
     public void run() {
         int released = reservationService.releaseExpiredHolds();
         if (released > 0) log.info("Released expired holds: {}", released);
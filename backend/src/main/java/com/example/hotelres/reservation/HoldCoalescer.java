@@ -0,0 +1,193 @@
+// path: src/main/java/com/example/hotelres/reservation/HoldCoalescer.java
+package com.example.hotelres.reservation;
+
+import com.example.hotelres.reservation.dto.HoldDtos.CreateHoldReq;
+import com.example.hotelres.reservation.dto.HoldDtos.HoldRes;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * HoldCoalescer (COALESCED 홀드 모드의 요청 합치기 큐)
+ * ---------------------------------------------------------------
+ *  - (hotelId, roomTypeId) 마다 단일 작성자 레인: 요청은 레인 큐에 쌓이고,
+ *    레인당 동시에 하나의 워커만 최대 maxBatch 건씩 꺼내 ReservationService.createCoalescedHolds 로 처리.
+ *    → 같은 booking_day 행에 대한 락 대기열(convoy)이 "락 1회 + 커밋 1회" 순차 배치로 바뀜.
+ *  - 호출 스레드는 트랜잭션/커넥션 없이 결과(CompletableFuture)만 기다림.
+ *  - 과부하 보호: 레인 대기 건수 > queueCapacity 이면 즉시 거절, waitTimeoutMs 초과 시 대기 포기
+ *    (둘 다 CannotAcquireLockException → 503). 포기 후 워커가 만든 홀드는 받을 사람이 없으므로
+ *    complete 실패를 보고 바로 cancelHoldByCode 로 재고 반환 (TTL 까지 재고를 묶어두지 않음).
+ *  - COALESCED 가 아닌 요청(원장 범위 등)은 그대로 ReservationService.createHold 로 위임.
+ *  - 메트릭: reservation.hold{mode=COALESCED,outcome}(대기 포함 지연), reservation.hold.coalesced.batch.size,
+ *           reservation.hold.coalesced.abandoned(대기 포기로 취소된 홀드 수)
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class HoldCoalescer {
+
+    private record LaneKey(long hotelId, long roomTypeId) {}
+
+    private record Pending(CreateHoldReq req, CompletableFuture<HoldRes> result) {}
+
+    /** 레인: 대기 큐 + 워커 실행 중 여부 */
+    private static final class Lane {
+        final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+    }
+
+    private final ReservationService reservationService;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+    private final Map<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+    private final DistributionSummary batchSize;
+    private final int maxBatch;
+    private final int queueCapacity;
+    private final long waitTimeoutMs;
+
+    public HoldCoalescer(ReservationService reservationService,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.reservation.coalescing.workers:4}") int workers,
+                         @Value("${app.reservation.coalescing.max-batch:64}") int maxBatch,
+                         @Value("${app.reservation.coalescing.queue-capacity:2000}") int queueCapacity,
+                         @Value("${app.reservation.coalescing.wait-timeout-ms:5000}") long waitTimeoutMs) {
+        this.reservationService = reservationService;
+        this.meterRegistry = meterRegistry;
+        this.maxBatch = maxBatch;
+        this.queueCapacity = queueCapacity;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.batchSize = meterRegistry.summary("reservation.hold.coalesced.batch.size");
+        this.workers = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "hold-coalescer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** 홀드 생성 진입점 — COALESCED 모드면 레인 큐로, 아니면 바로 createHold */
+    public HoldRes createHold(CreateHoldReq req) {
+        if (reservationService.resolveMode(req) != HoldMode.COALESCED) {
+            return reservationService.createHold(req);
+        }
+        if (!req.getCheckOut().isAfter(req.getCheckIn())) {
+            throw new IllegalArgumentException("체크아웃은 체크인보다 뒤여야 합니다.");
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ok";
+        try {
+            return await(enqueue(req));
+        } catch (RuntimeException e) {
+            outcome = (e instanceof SoldOutException) ? "sold_out" : "error";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("reservation.hold", "mode", HoldMode.COALESCED.name(), "outcome", outcome));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private CompletableFuture<HoldRes> enqueue(CreateHoldReq req) {
+        Lane lane = lanes.computeIfAbsent(new LaneKey(req.getHotelId(), req.getRoomTypeId()), k -> new Lane());
+        if (lane.size.incrementAndGet() > queueCapacity) {
+            lane.size.decrementAndGet();
+            throw new CannotAcquireLockException("홀드 대기열이 가득 찼습니다.");
+        }
+        var pending = new Pending(req, new CompletableFuture<>());
+        lane.queue.offer(pending);
+        if (lane.draining.compareAndSet(false, true)) {
+            workers.execute(() -> drain(req.getHotelId(), req.getRoomTypeId(), lane));
+        }
+        return pending.result();
+    }
+
+    private HoldRes await(CompletableFuture<HoldRes> result) {
+        try {
+            return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(false); // 아직 꺼내지지 않았으면 워커가 건너뜀
+            throw new CannotAcquireLockException("홀드 대기 시간 초과");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 레인 워커: 큐가 빌 때까지 maxBatch 건씩 처리, 종료 직전 재확인으로 유실 방지 */
+    private void drain(long hotelId, long roomTypeId, Lane lane) {
+        do {
+            List<Pending> batch = new ArrayList<>(maxBatch);
+            Pending p;
+            while (batch.size() < maxBatch && (p = lane.queue.poll()) != null) {
+                lane.size.decrementAndGet();
+                if (!p.result().isDone()) batch.add(p);
+            }
+            if (!batch.isEmpty()) process(hotelId, roomTypeId, batch);
+
+            if (lane.queue.isEmpty()) {
+                lane.draining.set(false);
+                // set(false) 와 offer 사이 경합: 새 요청이 들어왔고 아무도 워커를 안 띄웠으면 이어서 처리
+                if (lane.queue.isEmpty() || !lane.draining.compareAndSet(false, true)) return;
+            }
+        } while (true);
+    }
+
+    private void process(long hotelId, long roomTypeId, List<Pending> batch) {
+        batchSize.record(batch.size());
+        try {
+            List<HoldRes> results = reservationService.createCoalescedHolds(
+                    hotelId, roomTypeId, batch.stream().map(Pending::req).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                HoldRes res = results.get(i);
+                if (res == null) {
+                    batch.get(i).result().completeExceptionally(
+                            new SoldOutException("선택 구간에 판매 가능한 재고가 없습니다."));
+                } else if (!batch.get(i).result().complete(res)) {
+                    abandon(res); // 호출자가 이미 대기 포기(503) → 아무도 모르는 홀드
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Coalesced hold batch failed: hotelId={}, roomTypeId={}, size={} ({})",
+                    hotelId, roomTypeId, batch.size(), e.getMessage());
+            batch.forEach(p -> p.result().completeExceptionally(e));
+        }
+    }
+
+    /** 대기 포기된 요청의 홀드 즉시 취소 — 실패해도 TTL 만료로 회수되므로 로그만 */
+    private void abandon(HoldRes res) {
+        try {
+            reservationService.cancelHoldByCode(res.getHoldCode());
+            meterRegistry.counter("reservation.hold.coalesced.abandoned").increment();
+        } catch (RuntimeException e) {
+            log.warn("Abandoned coalesced hold cancel failed: holdCode={} ({})", res.getHoldCode(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+// path: src/main/java/com/example/hotelres/reservation/HoldCodeGenerator.java
+package com.example.hotelres.reservation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * ================================================================
+ * HoldCodeGenerator
+ * ---------------------------------------------------------------
+ *  - DB 조회 없이 충돌 없는 홀드 코드 생성: "HLD-" + 13자리 ID + 16자리 난수 (Crockford Base32, 총 33자, 컬럼 40자 이내)
+ *  - ID 64비트 = [ms 타임스탬프 41bit (2024-01-01 기준, 약 69년)] [노드 10bit] [시퀀스 12bit]
+ *    → 노드당 ms 당 4096개, 시간순 정렬 가능 (유일성 담당)
+ *  - 난수 80비트(SecureRandom): 홀드 코드는 인증 없는 취소(DELETE /hold/{code})·결제의 열쇠이므로
+ *    ID 만으로는 다른 사람 코드를 추측할 수 있음 → 추측 불가 담당
+ *  - 노드 ID: app.reservation.node-id (0~1023). 미지정(-1)이면 호스트명+PID 해시로 유도
+ *    (노드 간 충돌 가능성이 0 은 아니므로 다중 인스턴스 운영 시 명시 권장)
+ *  - 예약 바우처 번호("BKG-...")도 같은 체계(ID + 난수)로 발급
+ *  - 시퀀스 소진/시계 역행 시에도 (시간,시퀀스)를 단조 증가시킴 → 같은 노드 내 중복 없음
+ *  - booking_holds.hold_code UNIQUE 제약은 최후 방어선으로만 남김
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class HoldCodeGenerator {
+
+    private static final String PREFIX = "HLD-";
+    private static final String VOUCHER_PREFIX = "BKG-";
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQ_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int CODE_CHARS = 13; // ceil(64 / 5)
+
+    private final long nodeId;
+    private final SecureRandom random = new SecureRandom();
+    /** (경과 ms << SEQ_BITS) | 시퀀스 — 마지막으로 발급한 값 */
+    private final AtomicLong last = new AtomicLong();
+
+    public HoldCodeGenerator(@Value("${app.reservation.node-id:-1}") long nodeId) {
+        this.nodeId = (nodeId >= 0) ? (nodeId & MAX_NODE) : deriveNodeId();
+        log.info("Hold code generator node id: {}", this.nodeId);
+    }
+
+    public String next() {
+        return PREFIX + encode(nextId()) + randomSuffix();
+    }
+
+    /** 예약 확정 바우처 번호 — 같은 체계, 접두어만 다름 */
+    public String nextVoucherNo() {
+        return VOUCHER_PREFIX + encode(nextId()) + randomSuffix();
+    }
+
+    private long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQ_BITS;
+        // 같은 ms 면 시퀀스+1, 시퀀스가 넘치면 다음 ms 로 이월, 시계가 역행해도 직전 값보다 큼
+        long stamp = last.updateAndGet(prev -> Math.max(prev + 1, now));
+
+        long millis = stamp >>> SEQ_BITS;
+        long seq = stamp & ((1L << SEQ_BITS) - 1);
+        return (millis << (NODE_BITS + SEQ_BITS)) | (nodeId << SEQ_BITS) | seq;
+    }
+
+    /** 64비트 → 고정 13자 Crockford Base32 (상위 비트부터, 사전순 = 수치순) */
+    private static String encode(long value) {
+        char[] out = new char[CODE_CHARS];
+        for (int i = CODE_CHARS - 1; i >= 0; i--) {
+            out[i] = CROCKFORD[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(out);
+    }
+
+    /** 80비트 난수 → 16자 Crockford Base32 (60비트 12자 + 20비트 4자) */
+    private String randomSuffix() {
+        long hi = random.nextLong();
+        long lo = random.nextInt();
+        char[] out = new char[16];
+        for (int i = 0; i < 12; i++, hi >>>= 5) out[i] = CROCKFORD[(int) (hi & 31)];
+        for (int i = 12; i < 16; i++, lo >>>= 5) out[i] = CROCKFORD[(int) (lo & 31)];
+        return new String(out);
+    }
+
+    private static long deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        String runtime = ManagementFactory.getRuntimeMXBean().getName(); // pid@host
+        return ((host + "/" + runtime).hashCode() & 0x7fffffffL) % (MAX_NODE + 1);
+    }
+}
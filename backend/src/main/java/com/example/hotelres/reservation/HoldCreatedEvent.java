@@ -0,0 +1,7 @@
+// path: src/main/java/com/example/hotelres/reservation/HoldCreatedEvent.java
+package com.example.hotelres.reservation;
+
+import java.time.LocalDateTime;
+
+/** 홀드 생성 이벤트 (ReservationService.createHold 가 발행) */
+public record HoldCreatedEvent(String holdCode, LocalDateTime expiresAt) {}
@@ -0,0 +1,108 @@
+// path: src/main/java/com/example/hotelres/reservation/HoldExpiryScheduler.java
+package com.example.hotelres.reservation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * ================================================================
+ * HoldExpiryScheduler
+ * ---------------------------------------------------------------
+ *  - 홀드마다 만료 시각에 정확히 해제하도록 HierarchicalTimingWheel 에 등록.
+ *  - 등록: 홀드 생성 트랜잭션 커밋 후(HoldCreatedEvent)
+ *  - 재구성: 기동 완료 시 booking_holds 의 (hold_code, expires_at) 전체를 다시 등록
+ *  - 만료 시 ReservationService.releaseIfExpired(holdCode) — 이미 취소/해제된 홀드는 무시
+ *  - HoldCleanupJob(cron) 은 재기동 사이 누락분을 위한 안전망으로만 유지
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class HoldExpiryScheduler {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int LEVELS = 3;
+
+    private final ReservationService reservationService;
+    private final BookingHoldRepository bookingHoldRepository;
+    private final HierarchicalTimingWheel<String> wheel;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService releaser;
+    private final Counter fired;
+
+    public HoldExpiryScheduler(ReservationService reservationService,
+                               BookingHoldRepository bookingHoldRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.reservation.expiry-workers:2}") int workers) {
+        this.reservationService = reservationService;
+        this.bookingHoldRepository = bookingHoldRepository;
+        this.fired = meterRegistry.counter("reservation.hold.expiry.fired");
+        this.releaser = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "hold-expiry-release");
+            t.setDaemon(true);
+            return t;
+        });
+        this.wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, LEVELS,
+                System.currentTimeMillis(), code -> releaser.execute(() -> release(code)));
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "hold-expiry-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /** 기동 시 DB 의 모든 홀드를 휠에 재등록 (이미 지난 홀드는 다음 틱에 즉시 해제) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var holds = bookingHoldRepository.findAllExpiries();
+        holds.forEach(h -> schedule(h.getHoldCode(), h.getExpiresAt()));
+        log.info("Hold expiry wheel rebuilt: {} holds", holds.size());
+    }
+
+    @TransactionalEventListener
+    public void onHoldCreated(HoldCreatedEvent event) {
+        schedule(event.holdCode(), event.expiresAt());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        releaser.shutdown();
+    }
+
+    private void schedule(String holdCode, LocalDateTime expiresAt) {
+        wheel.schedule(holdCode, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void tick() {
+        try {
+            wheel.advanceTo(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("Hold expiry wheel tick failed", e);
+        }
+    }
+
+    private void release(String holdCode) {
+        try {
+            if (reservationService.releaseIfExpired(holdCode)) fired.increment();
+        } catch (RuntimeException e) {
+            // 실패분은 HoldCleanupJob(안전망)이 정리
+            log.warn("Hold expiry release failed: {} ({})", holdCode, e.getMessage());
+        }
+    }
+}
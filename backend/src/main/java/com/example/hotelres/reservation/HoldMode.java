@@ -0,0 +1,18 @@
+// path: src/main/java/com/example/hotelres/reservation/HoldMode.java
+package com.example.hotelres.reservation;
+
+/**
+ * 홀드 생성 시 재고 확보 방식
+ *  - PESSIMISTIC : booking_day 범위를 SELECT ... FOR UPDATE 로 잠그고 차감 (기존 방식)
+ *  - LEDGER      : 메모리 재고 원장(InventoryLedger)에서 CAS 로 차감, DB 는 비동기 반영
+ *  - CONDITIONAL : UPDATE ... WHERE remaining_qty >= qty 한 번으로 전 구간 차감, 영향 행 수로 성공 판단
+ *  - COALESCED   : 같은 룸타입 요청을 HoldCoalescer 큐에 모아 마이크로 배치로 처리 (락 1회 + 커밋 1회)
+ *
+ * 설정: app.reservation.hold-mode (기본 PESSIMISTIC), 요청별로 CreateHoldReq.holdMode 로 지정 가능
+ */
+public enum HoldMode {
+    PESSIMISTIC,
+    LEDGER,
+    CONDITIONAL,
+    COALESCED
+}
@@ -0,0 +1,12 @@
+// path: src/main/java/com/example/hotelres/reservation/InventoryChangedEvent.java
+package com.example.hotelres.reservation;
+
+import java.time.LocalDate;
+
+/**
+ * booking_day 재고 변경 이벤트 (ReservationService 가 홀드 생성/해제/취소 시 발행)
+ *  - [checkIn, checkOut) 각 일자의 남은 수량이 remainingDelta 만큼 변함 (홀드: -qty, 해제: +qty)
+ *  - 트랜잭션 커밋 후(@TransactionalEventListener) 캐시/인덱스 갱신용
+ */
+public record InventoryChangedEvent(long hotelId, long roomTypeId,
+                                    LocalDate checkIn, LocalDate checkOut, int remainingDelta) {}
@@ -0,0 +1,343 @@
+// path: src/main/java/com/example/hotelres/reservation/InventoryLedger.java
+package com.example.hotelres.reservation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/*
+ * ================================================================
+ * InventoryLedger
+ * ---------------------------------------------------------------
+ * 목적
+ *  - 홀드 생성 시 booking_day 행 락 없이 재고를 차감하는 메모리 원장.
+ *  - (hotelId, roomTypeId) 마다 일자별 남은 수량을 primitive 배열(AtomicIntegerArray)에 두고 CAS 로 차감/복구.
+ *  - 배열은 epochDay % RING_DAYS 로 접근하는 링. 판매 범위는 오늘(base) ~ base+HORIZON_DAYS.
+ *
+ * DB 반영
+ *  - 차감/복구는 홀드 트랜잭션 안에서 booking_day_deltas 에 저널 행으로 기록 (커밋 직전 다중 INSERT 1회,
+ *    booking_day 행 락 없음) → 홀드와 저널이 함께 커밋/롤백되므로 비정상 종료에도 유실 없음.
+ *  - LedgerFlushJob 이 저널을 일자별로 합산해 booking_day.booked 에 반영하고 같은 트랜잭션에서 삭제.
+ *  - 기동 시(@PostConstruct) remaining = allotment - booked - (아직 반영 안 된 저널 합) 으로 재구성,
+ *    종료 시(@PreDestroy) 남은 저널을 마지막으로 flush (정상 종료가 아니어도 재구성 결과는 같음).
+ *
+ * 날짜 이동
+ *  - advance()(LedgerFlushJob 이 매 주기 호출)가 날짜가 바뀌면 새로 범위에 들어온 일자를 DB 에서 읽어 슬롯을 채우고 base 를 옮김.
+ *  - 지난 일자의 슬롯은 RETIRED_DAYS 동안 비워 두었다가 재사용.
+ *  - 복구는 현재 범위와 겹치는 일자만 (자정 전에 잡은 홀드가 자정 뒤 해제돼도 남은 일자는 돌려주고, 재사용될 슬롯은 건드리지 않음).
+ *
+ * 주의
+ *  - 원장은 단일 노드 기준. 여러 인스턴스가 같은 재고를 팔면 PESSIMISTIC 모드를 사용.
+ *  - 기간이 원장 범위를 벗어나면 covers()=false → 호출측이 DB 경로로 처리.
+ *  - 기동 이후 새로 생성된 booking_day 행은 범위에 새로 들어올 때(또는 재기동) 전까지 원장에 보이지 않음(판매 불가로 처리).
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class InventoryLedger {
+
+    /** 원장이 다루는 일수 (오늘 포함 1년) */
+    static final int HORIZON_DAYS = 366;
+
+    /** 지난 일자 슬롯을 재사용하기 전 비워 두는 일수 */
+    static final int RETIRED_DAYS = 7;
+
+    static final int RING_DAYS = HORIZON_DAYS + RETIRED_DAYS;
+
+    /** flush 한 번(트랜잭션 1개)에 처리하는 저널 행 수 */
+    private static final int FLUSH_CHUNK = 5000;
+
+    /*
+     * booked 에 아직 반영되지 않은 저널까지 더한 일자별 재고 (문장 1개 = 일관된 스냅샷).
+     * 공유 잠금 읽기: 같은 일자를 DB 경로로 쓰는 중인 트랜잭션이 있으면 커밋을 기다린 뒤 읽음.
+     */
+    private static final String LOAD_SQL = """
+        SELECT bd.hotel_id, bd.room_type_id, bd.stay_date, bd.allotment, bd.booked, bd.price, bd.status,
+               (SELECT COALESCE(SUM(x.delta), 0) FROM booking_day_deltas x
+                 WHERE x.hotel_id = bd.hotel_id AND x.room_type_id = bd.room_type_id
+                   AND x.check_in <= bd.stay_date AND x.check_out > bd.stay_date) AS pending
+          FROM booking_day bd
+         WHERE bd.stay_date >= ? AND bd.stay_date < ?
+         LOCK IN SHARE MODE
+    """;
+
+    private final BookingDayRepository bookingDayRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final Map<Key, Row> rows = new ConcurrentHashMap<>();
+    private volatile long baseEpochDay;
+    private volatile boolean loaded;
+
+    record Key(long hotelId, long roomTypeId) {}
+
+    /** 룸타입 하나의 일자별 재고 (인덱스 = floorMod(stayDate, RING_DAYS)) */
+    static final class Row {
+        final AtomicIntegerArray remaining = new AtomicIntegerArray(RING_DAYS);
+        final int[] price = new int[RING_DAYS];                 // 슬롯 적재 후 읽기 전용
+    }
+
+    /** 적재 쿼리 1행 */
+    private record DayRow(long hotelId, long roomTypeId, long epochDay, int remaining, int price) {}
+
+    public InventoryLedger(BookingDayRepository bookingDayRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${app.reservation.hold-mode:PESSIMISTIC}") HoldMode holdMode) {
+        this.bookingDayRepository = bookingDayRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = holdMode == HoldMode.LEDGER;
+    }
+
+    /** 기동 시 booking_day + 저널 → 원장 재구성 (LEDGER 모드일 때만) */
+    @PostConstruct
+    void reconcile() {
+        if (!enabled) return;
+
+        LocalDate base = LocalDate.now();
+        List<DayRow> days = loadDays(base.toEpochDay(), base.toEpochDay() + HORIZON_DAYS);
+        for (DayRow d : days) fill(rows.computeIfAbsent(new Key(d.hotelId(), d.roomTypeId()), k -> new Row()), d);
+
+        baseEpochDay = base.toEpochDay();
+        loaded = true;
+        log.info("Inventory ledger loaded: {} room types, {} days from {}", rows.size(), days.size(), base);
+    }
+
+    /**
+     * 날짜가 바뀌었으면 범위를 오늘로 옮김: 새로 범위에 들어온 일자 슬롯을 DB 값으로 채운 뒤 base 갱신
+     *  - 새 일자는 이동 전까지 covers()=false 였으므로 원장 경로의 진행 중 홀드가 없음
+     * 반환값: 이동한 일수
+     */
+    public synchronized int advance() {
+        if (!loaded) return 0;
+        long today = LocalDate.now().toEpochDay();
+        long oldBase = baseEpochDay;
+        if (today <= oldBase) return 0;
+
+        long from = Math.max(oldBase + HORIZON_DAYS, today), to = today + HORIZON_DAYS;
+        for (Row row : rows.values()) {
+            for (long day = from; day < to; day++) {
+                row.remaining.set(slot(day), 0);
+                row.price[slot(day)] = 0;
+            }
+        }
+        for (DayRow d : loadDays(from, to)) fill(rows.computeIfAbsent(new Key(d.hotelId(), d.roomTypeId()), k -> new Row()), d);
+
+        baseEpochDay = today;
+        log.info("Inventory ledger advanced to {} (+{} days)", LocalDate.ofEpochDay(today), today - oldBase);
+        return (int) (today - oldBase);
+    }
+
+    /** 종료 직전 남은 저널 반영 */
+    @PreDestroy
+    void shutdown() {
+        if (loaded) flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** [checkIn, checkOut) 전체가 원장 범위 안인지 */
+    public boolean covers(LocalDate checkIn, LocalDate checkOut) {
+        if (!loaded) return false;
+        long base = baseEpochDay;
+        long from = checkIn.toEpochDay() - base;
+        long to = checkOut.toEpochDay() - base;
+        return from >= 0 && to <= HORIZON_DAYS;
+    }
+
+    /**
+     * 구간 전체에서 qty 만큼 차감 시도 (all-or-nothing, 트랜잭션 안에서 호출)
+     *  - 중간 일자에서 실패하면 앞서 차감한 일자를 되돌리고 false
+     *  - 성공하면 저널(+qty)을 현재 트랜잭션에 기록, 롤백되면 원장 차감분 복구
+     */
+    public boolean tryReserve(long hotelId, long roomTypeId, LocalDate checkIn, LocalDate checkOut, int qty) {
+        Row row = rows.get(new Key(hotelId, roomTypeId));
+        if (row == null) return false;
+        Journal journal = journal();
+
+        long from = checkIn.toEpochDay(), to = checkOut.toEpochDay();
+        for (long day = from; day < to; day++) {
+            if (!tryTake(row.remaining, slot(day), qty)) {
+                for (long d = from; d < day; d++) row.remaining.addAndGet(slot(d), qty);
+                return false;
+            }
+        }
+
+        journal.add(hotelId, roomTypeId, checkIn, checkOut, qty);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) restore(row, checkIn, checkOut, qty);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 원장에서 차감했던 홀드 해제/취소 (트랜잭션 안에서 호출)
+     *  - 저널(-qty)은 구간 전체 (차감 때 +qty 도 구간 전체로 기록됨 → flush 후 booked 가 정확히 상쇄)
+     *  - 커밋 후 원장 복구는 현재 범위와 겹치는 일자만 (범위가 그 사이 이동했을 수 있음)
+     */
+    public void release(long hotelId, long roomTypeId, LocalDate checkIn, LocalDate checkOut, int qty) {
+        journal().add(hotelId, roomTypeId, checkIn, checkOut, -qty);
+        Row row = rows.get(new Key(hotelId, roomTypeId));
+        if (row == null) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                restore(row, checkIn, checkOut, qty);
+            }
+        });
+    }
+
+    /** 구간 금액 합계 (박당 가격 * 수량) */
+    public int subtotal(long hotelId, long roomTypeId, LocalDate checkIn, LocalDate checkOut, int qty) {
+        Row row = rows.get(new Key(hotelId, roomTypeId));
+        if (row == null) return 0;
+        int sum = 0;
+        for (long day = checkIn.toEpochDay(), to = checkOut.toEpochDay(); day < to; day++) sum += row.price[slot(day)] * qty;
+        return sum;
+    }
+
+    /**
+     * 저널(booking_day_deltas)을 booking_day.booked 에 반영
+     *  - FLUSH_CHUNK 행씩 id 순으로 읽어 (호텔, 룸타입, 일자)별로 합산 → UPDATE 1회 + 읽은 행 DELETE, 한 트랜잭션
+     *  - 실패하면 트랜잭션째 롤백 → 저널이 그대로 남아 다음 주기에 재시도
+     *  - 늦게 커밋된(작은 id) 행은 id 목록으로만 지우므로 다음 주기에 반영됨
+     * 반환값: 반영된 저널 행 수
+     */
+    public int flush() {
+        if (!loaded) return 0;
+        int written = 0;
+        try {
+            Integer n;
+            do {
+                n = transactionTemplate.execute(status -> flushChunk());
+                written += (n == null) ? 0 : n;
+            } while (n != null && n == FLUSH_CHUNK);
+        } catch (RuntimeException ex) {
+            log.warn("Ledger flush failed after {} journal rows: {}", written, ex.getMessage());
+        }
+        return written;
+    }
+
+    private int flushChunk() {
+        var totals = new TreeMap<BookingDayKey, Integer>();
+        List<Long> ids = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, hotel_id, room_type_id, check_in, check_out, delta FROM booking_day_deltas"
+                + " ORDER BY id LIMIT " + FLUSH_CHUNK, rs -> {
+            ids.add(rs.getLong("id"));
+            long hotelId = rs.getLong("hotel_id"), roomTypeId = rs.getLong("room_type_id");
+            int delta = rs.getInt("delta");
+            LocalDate checkOut = rs.getDate("check_out").toLocalDate();
+            for (LocalDate d = rs.getDate("check_in").toLocalDate(); d.isBefore(checkOut); d = d.plusDays(1)) {
+                totals.merge(new BookingDayKey(hotelId, roomTypeId, d), delta, Integer::sum);
+            }
+        });
+        if (ids.isEmpty()) return 0;
+
+        totals.values().removeIf(v -> v == 0);
+        bookingDayRepository.addBooked(totals);
+        jdbcTemplate.update("DELETE FROM booking_day_deltas WHERE id IN ("
+                + String.join(",", ids.stream().map(String::valueOf).toList()) + ")");
+        return ids.size();
+    }
+
+    private List<DayRow> loadDays(long fromEpochDay, long toEpochDay) {
+        return jdbcTemplate.query(LOAD_SQL, (rs, i) -> {
+            int allotment = rs.getInt("allotment");
+            int booked = rs.getInt("booked") + rs.getInt("pending");
+            boolean open = BookingDayStatus.OPEN.name().equals(rs.getString("status"));
+            return new DayRow(rs.getLong("hotel_id"), rs.getLong("room_type_id"),
+                    rs.getDate("stay_date").toLocalDate().toEpochDay(),
+                    open ? Math.max(0, allotment - booked) : 0, rs.getInt("price"));
+        }, Date.valueOf(LocalDate.ofEpochDay(fromEpochDay)), Date.valueOf(LocalDate.ofEpochDay(toEpochDay)));
+    }
+
+    private static void fill(Row row, DayRow d) {
+        row.remaining.set(slot(d.epochDay()), d.remaining());
+        row.price[slot(d.epochDay())] = d.price();
+    }
+
+    /** [checkIn, checkOut) 중 현재 범위 [base, base+HORIZON_DAYS) 와 겹치는 일자만 qty 복구 */
+    private void restore(Row row, LocalDate checkIn, LocalDate checkOut, int qty) {
+        long base = baseEpochDay;
+        long from = Math.max(checkIn.toEpochDay(), base);
+        long to = Math.min(checkOut.toEpochDay(), base + HORIZON_DAYS);
+        for (long day = from; day < to; day++) {
+            row.remaining.addAndGet(slot(day), qty);
+        }
+    }
+
+    private static int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) RING_DAYS);
+    }
+
+    private static boolean tryTake(AtomicIntegerArray remaining, int i, int qty) {
+        for (;;) {
+            int cur = remaining.get(i);
+            if (cur < qty) return false;
+            if (remaining.compareAndSet(i, cur, cur - qty)) return true;
+        }
+    }
+
+    /** 현재 트랜잭션의 저널 버퍼 (없으면 생성 + 동기화 등록) */
+    private Journal journal() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("재고 원장 변경은 트랜잭션 안에서만 기록할 수 있습니다.");
+        }
+        for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+            if (s instanceof Journal j && j.owner == this) return j;
+        }
+        Journal j = new Journal(this);
+        TransactionSynchronizationManager.registerSynchronization(j);
+        return j;
+    }
+
+    /** 트랜잭션 1개 분량의 저널 행 — 커밋 직전 다중 행 INSERT 1회 */
+    private static final class Journal implements TransactionSynchronization {
+        final InventoryLedger owner;
+        final List<Object[]> rows = new ArrayList<>();
+
+        Journal(InventoryLedger owner) {
+            this.owner = owner;
+        }
+
+        void add(long hotelId, long roomTypeId, LocalDate checkIn, LocalDate checkOut, int delta) {
+            rows.add(new Object[]{hotelId, roomTypeId, Date.valueOf(checkIn), Date.valueOf(checkOut), delta});
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (rows.isEmpty()) return;
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO booking_day_deltas(hotel_id, room_type_id, check_in, check_out, delta) VALUES ");
+            List<Object> args = new ArrayList<>(rows.size() * 5);
+            for (int i = 0; i < rows.size(); i++) {
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+                args.addAll(List.of(rows.get(i)));
+            }
+            owner.jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+}
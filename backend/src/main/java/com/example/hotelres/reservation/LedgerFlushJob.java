@@ -0,0 +1,23 @@
+// path: src/main/java/com/example/hotelres/reservation/LedgerFlushJob.java
+package com.example.hotelres.reservation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerFlushJob {
+    private final InventoryLedger inventoryLedger;
+
+    // 재고 원장 저널 → booking_day.booked 비동기 반영 + 날짜가 바뀌면 원장 범위 이동 (LEDGER 모드에서만 동작)
+    @Scheduled(fixedDelayString = "${app.reservation.ledger.flush-interval-ms:1000}")
+    public void run() {
+        if (!inventoryLedger.isEnabled()) return;
+        inventoryLedger.advance();
+        int written = inventoryLedger.flush();
+        if (written > 0) log.debug("Ledger flushed: {} journal rows", written);
+    }
+}
@@ -0,0 +1,102 @@
+// path: src/main/java/com/example/hotelres/reservation/LockRetryAspect.java
+package com.example.hotelres.reservation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * ================================================================
+ * LockRetryAspect
+ * ---------------------------------------------------------------
+ *  - @RetryOnLockFailure 메서드를 트랜잭션 인터셉터 "바깥"(@Order(0))에서 감싼다.
+ *    → 실패한 트랜잭션은 롤백된 뒤, 재시도는 새 트랜잭션으로 처음부터.
+ *  - 재시도 대상(일시적 락 실패):
+ *      MariaDB 1213(데드락, SQLSTATE 40001) / 1205(락 대기 타임아웃)
+ *      Spring PessimisticLockingFailureException(CannotAcquireLockException 포함)
+ *      JPA PessimisticLockException / LockTimeoutException
+ *    SoldOutException, 검증 오류 등은 그대로 전파.
+ *  - 백오프: full jitter 지수 백오프 sleep = random(0, min(max, base * 2^(n-1)))
+ *  - 예산: 최대 maxAttempts 회 시도, 초과 시 마지막 예외 전파(GlobalExceptionHandler → 503)
+ *  - 이미 바깥 트랜잭션 안에서 호출되면 재시도하지 않음(롤백 전용 트랜잭션 재사용 방지).
+ *  - 메트릭: reservation.lock.retry{method,cause}, reservation.lock.retry.exhausted{method}
+ * ================================================================
+ */
+@Aspect
+@Component
+@Order(0)
+@Slf4j
+public class LockRetryAspect {
+
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public LockRetryAspect(MeterRegistry meterRegistry,
+                           @Value("${app.reservation.retry.max-attempts:4}") int maxAttempts,
+                           @Value("${app.reservation.retry.base-backoff-ms:20}") long baseBackoffMs,
+                           @Value("${app.reservation.retry.max-backoff-ms:400}") long maxBackoffMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Around("@annotation(com.example.hotelres.reservation.RetryOnLockFailure)")
+    public Object retry(ProceedingJoinPoint pjp) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return pjp.proceed();
+        }
+
+        String method = pjp.getSignature().getName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pjp.proceed();
+            } catch (RuntimeException e) {
+                String cause = classify(e);
+                if (cause == null) throw e;
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("reservation.lock.retry.exhausted", "method", method).increment();
+                    log.warn("Lock retry exhausted: method={}, attempts={}, cause={}", method, attempt, cause);
+                    throw e;
+                }
+                meterRegistry.counter("reservation.lock.retry", "method", method, "cause", cause).increment();
+                long backoff = ThreadLocalRandom.current().nextLong(
+                        Math.min(maxBackoffMs, baseBackoffMs << (attempt - 1)) + 1);
+                log.debug("Lock failure, retrying: method={}, attempt={}, cause={}, backoffMs={}",
+                        method, attempt, cause, backoff);
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    /** 일시적 락 실패면 사유(deadlock|lock_timeout), 아니면 null — 원인 체인 전체를 확인 */
+    static String classify(Throwable e) {
+        boolean lockFailure = false;
+        for (Throwable t = e; t != null && t.getCause() != t; t = t.getCause()) {
+            if (t instanceof SQLException sql) {
+                if (sql.getErrorCode() == ER_LOCK_WAIT_TIMEOUT) return "lock_timeout";
+                if (sql.getErrorCode() == ER_LOCK_DEADLOCK || "40001".equals(sql.getSQLState())) return "deadlock";
+            }
+            if (t instanceof LockTimeoutException) return "lock_timeout";
+            if (t instanceof PessimisticLockException || t instanceof PessimisticLockingFailureException) lockFailure = true;
+        }
+        return lockFailure ? "deadlock" : null;
+    }
+}
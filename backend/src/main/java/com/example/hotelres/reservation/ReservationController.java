@@ -1,6 +1,8 @@
 // path: src/main/java/com/example/hotelres/reservation/ReservationController.java
 package com.example.hotelres.reservation;
 
+import com.example.hotelres.reservation.dto.HoldDtos.BatchHoldReq;
+import com.example.hotelres.reservation.dto.HoldDtos.BatchHoldRes;
 import com.example.hotelres.reservation.dto.HoldDtos.CreateHoldReq;
 import com.example.hotelres.reservation.dto.HoldDtos.HoldRes;
 import jakarta.validation.Valid;
@@ -17,11 +19,18 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class ReservationController {
  private final ReservationService reservationService;
+ private final HoldCoalescer holdCoalescer;
 
  /** (기존) 예약 홀드 생성 */
  @PostMapping("/hold")
  public ResponseEntity<HoldRes> create(@Valid @RequestBody CreateHoldReq req) {
-     return ResponseEntity.ok(reservationService.createHold(req));
+     return ResponseEntity.ok(holdCoalescer.createHold(req)); // COALESCED 모드면 룸타입별 큐 경유
+ }
+
+ /** 단체 홀드 생성 — 여러 룸타입을 한 번에 전부/전무 선점 */
+ @PostMapping("/hold/batch")
+ public ResponseEntity<BatchHoldRes> createBatch(@Valid @RequestBody BatchHoldReq req) {
+     return ResponseEntity.ok(reservationService.createBatchHold(req));
  }
 
  /** ✅ 수동 취소 (프런트 취소 버튼이 호출) */
@@ -1,17 +1,34 @@
 // path: src/main/java/com/example/hotelres/reservation/ReservationService.java
 package com.example.hotelres.reservation;
 
+import com.example.hotelres.outbox.OutboxEventType;
+import com.example.hotelres.outbox.OutboxWriter;
+import com.example.hotelres.payment.PaymentRepository;
+import com.example.hotelres.payment.PaymentStatus;
+import com.example.hotelres.reservation.dto.HoldDtos.BatchHoldReq;
+import com.example.hotelres.reservation.dto.HoldDtos.BatchHoldRes;
 import com.example.hotelres.reservation.dto.HoldDtos.CreateHoldReq;
 import com.example.hotelres.reservation.dto.HoldDtos.HoldRes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.TreeMap;
 
 /*
  * ================================================================
@@ -36,8 +53,36 @@ import java.util.UUID;
  *  - 만료/취소 시 반드시 booked 를 복구해야 하므로 release/cancel 메서드를 제공.
  *
  * 만료 처리
- *  - releaseExpiredHolds(): expires_at < now 인 홀드를 찾아 booked 복구 후 홀드 삭제.
- *  - 운영에선 @Scheduled 로 1~5분 주기 실행을 권장.
+ *  - releaseExpiredHolds(): expires_at < now 인 홀드를 배치 단위로 잘라 booked 복구 후 홀드 삭제.
+ *    배치마다 짧은 트랜잭션 1개: 일자별 감소량을 모아 UPDATE 1회 + DELETE 1회.
+ *  - 정시 해제는 HoldExpiryScheduler(타이밍 휠) → releaseIfExpired(), cron(HoldCleanupJob)은 안전망.
+ *
+ * 홀드 모드(app.reservation.hold-mode)
+ *  - PESSIMISTIC(기본): 위의 비관적 락 경로.
+ *  - LEDGER: InventoryLedger(메모리 원장)에서 CAS 로 차감 → DB 락 없이 승인/거절.
+ *    booked 는 커밋 후 원장에 누적되어 LedgerFlushJob 이 비동기 반영.
+ *    원장 범위를 벗어난 기간은 PESSIMISTIC 경로로 처리.
+ *  - CONDITIONAL: 조건부 UPDATE 한 번으로 전 구간 차감, 영향 행 수로 성공 판단.
+ *    원장이 꺼져 있을 때는 CreateHoldReq.holdMode 로 요청별 선택 가능.
+ *  - COALESCED: HoldCoalescer 가 같은 룸타입 요청을 단일 작성자 큐로 모아 createCoalescedHolds 로 일괄 처리.
+ *    createHold 를 직접 호출하면 PESSIMISTIC 경로로 처리.
+ *  - 모드별 처리량/지연은 Micrometer 타이머 reservation.hold{mode,outcome} 로 비교.
+ *
+ * 결제 확정
+ *  - prepareHoldForPayment(): 승인 전 검증 + 만료 유예, confirmHold(): 승인 후 홀드 → Booking 전환.
+ *    외부 결제 호출은 두 짧은 트랜잭션 사이(PaymentService)에서 락 없이 수행.
+ *
+ * 이벤트 기록(아웃박스)
+ *  - 홀드 생성/해제/취소 시 같은 트랜잭션에 outbox_events 행 기록(OutboxWriter) → OutboxRelay 가 커밋분만 발행.
+ *  - InventoryChangedEvent/HoldCreatedEvent(커밋 후 즉시, 비영속)는 가용성 인덱스/만료 타이머용으로 유지.
+ *
+ * 락 실패 재시도
+ *  - 쓰기 메서드(@RetryOnLockFailure)는 데드락/락 대기 타임아웃 시 LockRetryAspect 가
+ *    트랜잭션 바깥에서 지터 백오프로 재시도 (app.reservation.retry.*).
+ *
+ * 단체 홀드(createBatchHold)
+ *  - 여러 룸타입/기간을 한 트랜잭션에서 all-or-nothing 으로 선점.
+ *  - booking_day 행 락은 항상 (hotelId, roomTypeId, stayDate) 오름차순으로 획득 → 교착 없음.
  *
  * 주의
  *  - days.size() != nights 이면(누락된 날짜가 있으면) 판매 불가로 간주.
@@ -47,23 +92,42 @@ import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ReservationService {
 
     /** 홀드 TTL(분) — 필요 시 설정값으로 분리 */
     private static final int HOLD_TTL_MINUTES = 15;
 
+    /** 결제 승인 진행 중 홀드 최소 유지 시간(분) */
+    private static final int PAYMENT_GRACE_MINUTES = 3;
+
     private final BookingDayRepository bookingDayRepository;
     private final BookingHoldRepository bookingHoldRepository;
+    private final BookingRepository bookingRepository;
+    private final InventoryLedger inventoryLedger;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HoldCodeGenerator holdCodeGenerator;
+    private final OutboxWriter outboxWriter;
+    private final PaymentRepository paymentRepository;
+
+    @Value("${app.reservation.hold-mode:PESSIMISTIC}")
+    private HoldMode holdMode;
+
+    /** 만료 홀드 해제 배치 크기 */
+    @Value("${app.reservation.release-batch-size:500}")
+    private int releaseBatchSize;
 
     /**
      * 홀드 생성 (선점)
      * 흐름:
      *  1) 기본 검증(기간/인원)
-     *  2) 대상 구간 booking_day 범위를 비관적락으로 잠금
-     *  3) DB 생성컬럼 사용해 재고 검증(isSellable, remainingQty)
-     *  4) 하드 홀드(booked += qty)
-     *  5) booking_holds 레코드 생성(만료시각 포함)
+     *  2) 재고 확보 — PESSIMISTIC: reserveWithRowLock / CONDITIONAL: reserveWithConditionalUpdate
+     *                  / LEDGER: reserveWithLedger
+     *  3) booking_holds 레코드 생성(만료시각 포함)
      */
+    @RetryOnLockFailure
     @Transactional
     public HoldRes createHold(CreateHoldReq req) {
         // 0) 파라미터 기본 검증
@@ -74,6 +138,244 @@ public class ReservationService {
         final long nights = ChronoUnit.DAYS.between(req.getCheckIn(), req.getCheckOut());
         final int qty = Math.max(1, req.getGuests());
 
+        // 1) 재고 확보 + 금액 계산 (모드별)
+        //    COALESCED 가 레인 큐를 거치지 않고 직접 들어오면 행 락 경로로 처리 → 메트릭도 실제 경로로 기록
+        final HoldMode mode = switch (resolveMode(req)) {
+            case LEDGER      -> HoldMode.LEDGER;
+            case CONDITIONAL -> HoldMode.CONDITIONAL;
+            default          -> HoldMode.PESSIMISTIC;
+        };
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ok";
+        int subtotal;
+        try {
+            subtotal = switch (mode) {
+                case LEDGER      -> reserveWithLedger(req, qty);
+                case CONDITIONAL -> reserveWithConditionalUpdate(req, nights, qty);
+                default          -> reserveWithRowLock(req, nights, qty);
+            };
+        } catch (RuntimeException e) {
+            outcome = (e instanceof SoldOutException) ? "sold_out" : "error";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("reservation.hold", "mode", mode.name(), "outcome", outcome));
+        }
+
+        // 2) 홀드 행 생성
+        return saveHold(req, qty, subtotal, mode == HoldMode.LEDGER);
+    }
+
+    /**
+     * 단체 홀드 생성 (여러 룸타입/기간을 한 트랜잭션에서 전부 또는 전무)
+     * 흐름:
+     *  1) 항목별 기본 검증
+     *  2) 원장 범위 항목은 LEDGER 로 차감 (DB 락 없음, 롤백 시 원장 복구)
+     *  3) 나머지는 (호텔, 룸타입, 일자)별 필요 수량을 합산 → 정렬 순서대로 연속 구간씩 잠금/검증/차감
+     *     모든 트랜잭션이 같은 순서로 booking_day 행 락을 잡으므로 단체 홀드끼리, 단건 홀드와도 교착이 없다.
+     *  4) 항목마다 booking_holds 1건 생성 (하나라도 매진이면 SoldOutException → 전체 롤백)
+     *  - hold-mode 가 CONDITIONAL 이어도 원장 밖 항목은 정렬 순서 비관적 락으로 처리
+     */
+    @RetryOnLockFailure
+    @Transactional
+    public BatchHoldRes createBatchHold(BatchHoldReq req) {
+        List<CreateHoldReq> items = req.getItems().stream()
+                .map(i -> CreateHoldReq.builder()
+                        .userId(req.getUserId())
+                        .hotelId(i.getHotelId())
+                        .roomTypeId(i.getRoomTypeId())
+                        .ratePlanId(i.getRatePlanId())
+                        .checkIn(i.getCheckIn())
+                        .checkOut(i.getCheckOut())
+                        .guests(Math.max(1, i.getGuests()))
+                        .couponCode(req.getCouponCode())
+                        .guestName(req.getGuestName())
+                        .phone(req.getPhone())
+                        .build())
+                .toList();
+        for (CreateHoldReq item : items) {
+            if (!item.getCheckOut().isAfter(item.getCheckIn())) {
+                throw new IllegalArgumentException("체크아웃은 체크인보다 뒤여야 합니다.");
+            }
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ok";
+        int[] subtotals = new int[items.size()];
+        boolean[] inLedger = new boolean[items.size()]; // 한 번만 판정 (트랜잭션 도중 자정이 지나도 항목별 경로 고정)
+        try {
+            // 1) 원장 항목 먼저 (메모리 CAS, 뒤에서 실패하면 롤백 동기화로 원장 복구)
+            for (int i = 0; i < items.size(); i++) {
+                CreateHoldReq item = items.get(i);
+                inLedger[i] = useLedger(item.getCheckIn(), item.getCheckOut());
+                if (inLedger[i]) {
+                    subtotals[i] = reserveWithLedger(item, item.getGuests());
+                }
+            }
+
+            // 2) DB 항목: (호텔, 룸타입, 일자)별 필요 수량 합산 → 정렬된 키 순서로 잠금 + 차감
+            var demand = new TreeMap<BookingDayKey, Integer>();
+            for (int i = 0; i < items.size(); i++) {
+                if (inLedger[i]) continue;
+                CreateHoldReq item = items.get(i);
+                for (LocalDate d = item.getCheckIn(); d.isBefore(item.getCheckOut()); d = d.plusDays(1)) {
+                    demand.merge(new BookingDayKey(item.getHotelId(), item.getRoomTypeId(), d), item.getGuests(), Integer::sum);
+                }
+            }
+            Map<BookingDayKey, BookingDay> locked = reserveInKeyOrder(demand);
+            for (int i = 0; i < items.size(); i++) {
+                if (inLedger[i]) continue;
+                CreateHoldReq item = items.get(i);
+                int subtotal = 0;
+                for (LocalDate d = item.getCheckIn(); d.isBefore(item.getCheckOut()); d = d.plusDays(1)) {
+                    BookingDay day = locked.get(new BookingDayKey(item.getHotelId(), item.getRoomTypeId(), d));
+                    subtotal += Objects.requireNonNullElse(day.getPrice(), 0) * item.getGuests();
+                }
+                subtotals[i] = subtotal;
+            }
+        } catch (RuntimeException e) {
+            outcome = (e instanceof SoldOutException) ? "sold_out" : "error";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("reservation.hold.batch", "outcome", outcome));
+        }
+
+        // 3) 항목별 홀드 행 생성
+        List<HoldRes> holds = new ArrayList<>(items.size());
+        int total = 0;
+        for (int i = 0; i < items.size(); i++) {
+            HoldRes res = saveHold(items.get(i), items.get(i).getGuests(), subtotals[i], inLedger[i]);
+            holds.add(res);
+            total += res.getTotalAmount();
+        }
+        return new BatchHoldRes(holds, total);
+    }
+
+    /**
+     * 같은 룸타입 요청 묶음을 한 트랜잭션으로 처리 (COALESCED 모드, HoldCoalescer 워커가 호출)
+     *  1) 묶음 전체 기간의 booking_day 를 한 번에 잠금
+     *  2) 도착 순서대로 메모리에서 승인/거절 (남은 수량을 로컬로 차감하며 판단)
+     *  3) 승인분만 booked 반영 + 홀드 생성, 커밋 1회
+     * 반환값: 요청과 같은 순서의 결과, 매진으로 거절된 요청은 null
+     */
+    @RetryOnLockFailure
+    @Transactional
+    public List<HoldRes> createCoalescedHolds(long hotelId, long roomTypeId, List<CreateHoldReq> reqs) {
+        LocalDate from = reqs.stream().map(CreateHoldReq::getCheckIn).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = reqs.stream().map(CreateHoldReq::getCheckOut).max(LocalDate::compareTo).orElseThrow();
+
+        Map<LocalDate, BookingDay> days = new HashMap<>();
+        Map<LocalDate, Integer> remaining = new HashMap<>();
+        for (BookingDay d : bookingDayRepository.findForUpdate(hotelId, roomTypeId, from, to)) {
+            days.put(d.getStayDate(), d);
+            remaining.put(d.getStayDate(), Boolean.TRUE.equals(d.getIsSellable()) ? d.getRemainingQty() : 0);
+        }
+
+        List<HoldRes> results = new ArrayList<>(reqs.size());
+        for (CreateHoldReq req : reqs) {
+            int qty = Math.max(1, req.getGuests());
+            boolean available = true;
+            for (LocalDate d = req.getCheckIn(); available && d.isBefore(req.getCheckOut()); d = d.plusDays(1)) {
+                available = remaining.getOrDefault(d, 0) >= qty;
+            }
+            if (!available) {
+                results.add(null);
+                continue;
+            }
+
+            int subtotal = 0;
+            for (LocalDate d = req.getCheckIn(); d.isBefore(req.getCheckOut()); d = d.plusDays(1)) {
+                BookingDay day = days.get(d);
+                remaining.merge(d, -qty, Integer::sum);
+                day.setBooked(Objects.requireNonNullElse(day.getBooked(), 0) + qty);
+                subtotal += Objects.requireNonNullElse(day.getPrice(), 0) * qty;
+            }
+            results.add(saveHold(req, qty, subtotal, false));
+        }
+        return results;
+    }
+
+    /**
+     * 정렬된 (호텔, 룸타입, 일자)별 필요 수량을 연속 구간 단위로 잠그고 차감
+     *  - TreeMap 순회 순서 = 행 락 획득 순서 (findForUpdate 도 stay_date 오름차순)
+     *  - 구간 내 일자 누락/판매 불가/잔여 부족 → SoldOutException
+     * 반환값: 잠근 행 (가격 계산용)
+     */
+    private Map<BookingDayKey, BookingDay> reserveInKeyOrder(TreeMap<BookingDayKey, Integer> demand) {
+        Map<BookingDayKey, BookingDay> locked = new HashMap<>();
+        BookingDayKey runStart = null, prev = null;
+        for (BookingDayKey key : demand.keySet()) {
+            boolean contiguous = prev != null
+                    && prev.hotelId() == key.hotelId()
+                    && prev.roomTypeId() == key.roomTypeId()
+                    && prev.stayDate().plusDays(1).equals(key.stayDate());
+            if (prev != null && !contiguous) {
+                reserveRun(runStart, prev, demand, locked);
+                runStart = null;
+            }
+            if (runStart == null) runStart = key;
+            prev = key;
+        }
+        if (prev != null) reserveRun(runStart, prev, demand, locked);
+        return locked;
+    }
+
+    /** 같은 룸타입의 연속 일자 [first, last] 잠금 → 검증 → booked += 필요 수량 */
+    private void reserveRun(BookingDayKey first, BookingDayKey last,
+                            Map<BookingDayKey, Integer> demand, Map<BookingDayKey, BookingDay> locked) {
+        List<BookingDay> days = bookingDayRepository.findForUpdate(
+                first.hotelId(), first.roomTypeId(), first.stayDate(), last.stayDate().plusDays(1));
+        if (days.size() != ChronoUnit.DAYS.between(first.stayDate(), last.stayDate()) + 1) {
+            throw new SoldOutException("선택 구간에 판매 가능한 재고가 없습니다.");
+        }
+
+        for (BookingDay d : days) {
+            int need = demand.get(new BookingDayKey(first.hotelId(), first.roomTypeId(), d.getStayDate()));
+            if (!Boolean.TRUE.equals(d.getIsSellable()) || d.getRemainingQty() < need) {
+                throw new SoldOutException("재고 부족: " + d.getStayDate());
+            }
+        }
+        for (BookingDay d : days) {
+            var key = new BookingDayKey(first.hotelId(), first.roomTypeId(), d.getStayDate());
+            d.setBooked(Objects.requireNonNullElse(d.getBooked(), 0) + demand.get(key));
+            locked.put(key, d);
+        }
+    }
+
+    /** booking_holds 1건 저장 + 만료 타이머/재고 변경 이벤트 발행 + 아웃박스 기록 */
+    private HoldRes saveHold(CreateHoldReq req, int qty, int subtotal, boolean inLedger) {
+        var hold = new BookingHold();
+        hold.setUserId(req.getUserId());
+        hold.setHotelId(req.getHotelId());
+        hold.setRoomTypeId(req.getRoomTypeId());
+        hold.setRatePlanId(req.getRatePlanId());
+        hold.setCheckIn(req.getCheckIn());
+        hold.setCheckOut(req.getCheckOut());
+        hold.setGuests(qty);
+        hold.setInLedger(inLedger);
+        hold.setCouponCode(req.getCouponCode());
+        hold.setRoomSubtotal(subtotal);
+        hold.setDiscount(0);
+        hold.setTotalAmount(subtotal);
+        hold.setCurrency("KRW"); // 스키마: CHAR(3)
+        hold.setExpiresAt(LocalDateTime.now().plusMinutes(HOLD_TTL_MINUTES));
+        hold.setHoldCode(holdCodeGenerator.next()); // DB 확인 없이 유일 (UNIQUE 제약은 최후 방어선)
+
+        BookingHold saved = bookingHoldRepository.save(hold);
+        eventPublisher.publishEvent(new HoldCreatedEvent(saved.getHoldCode(), saved.getExpiresAt())); // 커밋 후 만료 타이머 등록
+        publishInventoryChange(saved, -qty);
+        appendHoldEvent(OutboxEventType.HOLD_CREATED, saved);
+
+        return new HoldRes(saved.getHoldCode(), saved.getExpiresAt(), saved.getTotalAmount());
+    }
+
+    /**
+     * 비관적 락 경로 (PESSIMISTIC)
+     *  1) 대상 구간 booking_day 범위를 비관적락으로 잠금
+     *  2) DB 생성컬럼 사용해 재고 검증(isSellable, remainingQty)
+     *  3) 하드 홀드(booked += qty)
+     * 반환값: 구간 금액 합계
+     */
+    private int reserveWithRowLock(CreateHoldReq req, long nights, int qty) {
         // 1) 재고 범위를 잠그기 (비관적 락) — 같은 범위 동시 진입 차단
         List<BookingDay> days = bookingDayRepository.findForUpdate(
                 req.getHotelId(), req.getRoomTypeId(), req.getCheckIn(), req.getCheckOut());
@@ -98,91 +400,265 @@ public class ReservationService {
         }
 
         // 4) 금액 계산(박당 가격 * 수량)
-        int subtotal = days.stream()
+        return days.stream()
                 .map(d -> Objects.requireNonNullElse(d.getPrice(), 0))
                 .mapToInt(p -> p * qty)
                 .sum();
+    }
 
-        // 5) 홀드 행 생성
-        var hold = new BookingHold();
-        hold.setUserId(req.getUserId());
-        hold.setHotelId(req.getHotelId());
-        hold.setRoomTypeId(req.getRoomTypeId());
-        hold.setRatePlanId(req.getRatePlanId());
-        hold.setCheckIn(req.getCheckIn());
-        hold.setCheckOut(req.getCheckOut());
-        hold.setGuests(qty);
-        hold.setCouponCode(req.getCouponCode());
-        hold.setRoomSubtotal(subtotal);
-        hold.setDiscount(0);
-        hold.setTotalAmount(subtotal);
-        hold.setCurrency("KRW"); // 스키마: CHAR(3)
-        hold.setExpiresAt(LocalDateTime.now().plusMinutes(HOLD_TTL_MINUTES));
-        hold.setHoldCode(generateUniqueHoldCode()); // UNIQUE 제약 + 중복 방지
+    /**
+     * 조건부 UPDATE 경로 (CONDITIONAL)
+     *  - UPDATE ... SET booked = booked + qty WHERE is_sellable AND remaining_qty >= qty 한 번으로 전 구간 차감
+     *  - 영향 행 수 != 숙박일수 → 일부 일자 누락/부족 → SoldOutException 으로 트랜잭션 롤백
+     *  - 락은 UPDATE 가 잡는 행 락뿐이며 엔티티 로딩/더티체킹 없음
+     * 반환값: 구간 금액 합계
+     */
+    private int reserveWithConditionalUpdate(CreateHoldReq req, long nights, int qty) {
+        int updated = bookingDayRepository.reserveRange(
+                req.getHotelId(), req.getRoomTypeId(), req.getCheckIn(), req.getCheckOut(), qty);
+        if (updated != nights) {
+            throw new SoldOutException("선택 구간에 판매 가능한 재고가 없습니다.");
+        }
 
-        BookingHold saved = bookingHoldRepository.save(hold);
+        long priceSum = bookingDayRepository.sumPrice(
+                req.getHotelId(), req.getRoomTypeId(), req.getCheckIn(), req.getCheckOut());
+        return Math.toIntExact(priceSum * qty);
+    }
 
-        return new HoldRes(saved.getHoldCode(), saved.getExpiresAt(), saved.getTotalAmount());
+    /**
+     * 메모리 원장 경로 (LEDGER)
+     *  - 원장에서 CAS 로 차감 (DB 락 없음)
+     *  - booked 변경은 같은 트랜잭션의 저널(booking_day_deltas)로 기록, 롤백되면 원장 차감분 복구
+     * 반환값: 구간 금액 합계
+     */
+    private int reserveWithLedger(CreateHoldReq req, int qty) {
+        long hotelId = req.getHotelId(), roomTypeId = req.getRoomTypeId();
+        if (!inventoryLedger.tryReserve(hotelId, roomTypeId, req.getCheckIn(), req.getCheckOut(), qty)) {
+            throw new SoldOutException("선택 구간에 판매 가능한 재고가 없습니다.");
+        }
+        return inventoryLedger.subtotal(hotelId, roomTypeId, req.getCheckIn(), req.getCheckOut(), qty);
+    }
+
+    /**
+     * 홀드가 잡고 있던 재고 복구 (해제/취소 공통)
+     *  - 원장에서 차감한 홀드: 저널에 booked 감소 기록 + 커밋 후 원장 복구 (지금 범위 안인지가 아니라 차감 경로로 판단)
+     *  - 그 외: 동일 기간을 잠그고 booked 복구
+     */
+    private void restoreInventory(BookingHold hold) {
+        int qty = Math.max(1, hold.getGuests());
+        publishInventoryChange(hold, qty);
+
+        if (reservedInLedger(hold)) {
+            inventoryLedger.release(hold.getHotelId(), hold.getRoomTypeId(), hold.getCheckIn(), hold.getCheckOut(), qty);
+            return;
+        }
+
+        var days = bookingDayRepository.findForUpdate(
+                hold.getHotelId(), hold.getRoomTypeId(), hold.getCheckIn(), hold.getCheckOut());
+        for (BookingDay d : days) {
+            int booked = Objects.requireNonNullElse(d.getBooked(), 0);
+            d.setBooked(Math.max(0, booked - qty));
+        }
+    }
+
+    /** 재고 변경 이벤트 발행 — 리스너는 커밋 후 반영(가용성 인덱스 등) */
+    private void publishInventoryChange(BookingHold hold, int remainingDelta) {
+        eventPublisher.publishEvent(new InventoryChangedEvent(
+                hold.getHotelId(), hold.getRoomTypeId(), hold.getCheckIn(), hold.getCheckOut(), remainingDelta));
+    }
+
+    /** 아웃박스 payload — 홀드 1건의 재고 구간/수량 */
+    private record HoldEventPayload(String holdCode, Long userId, long hotelId, long roomTypeId,
+                                    LocalDate checkIn, LocalDate checkOut, int guests, int totalAmount,
+                                    LocalDateTime expiresAt) {}
+
+    /** 홀드 상태 변화를 현재 트랜잭션의 아웃박스에 기록 */
+    private void appendHoldEvent(OutboxEventType type, BookingHold hold) {
+        outboxWriter.append(type, "HOLD", hold.getHoldCode(), new HoldEventPayload(
+                hold.getHoldCode(), hold.getUserId(), hold.getHotelId(), hold.getRoomTypeId(),
+                hold.getCheckIn(), hold.getCheckOut(), Math.max(1, hold.getGuests()),
+                hold.getTotalAmount(), hold.getExpiresAt()));
+    }
+
+    /**
+     * 요청별 재고 확보 방식 결정
+     *  - 원장이 켜져 있고 범위 안이면 항상 LEDGER (DB 경로와 섞이면 원장이 실제보다 많은 재고를 보게 됨)
+     *  - 그 외에는 요청 지정값 → 서버 설정값 순, LEDGER 를 쓸 수 없으면 PESSIMISTIC
+     */
+    HoldMode resolveMode(CreateHoldReq req) {
+        if (useLedger(req.getCheckIn(), req.getCheckOut())) return HoldMode.LEDGER;
+        HoldMode requested = (req.getHoldMode() != null) ? req.getHoldMode() : holdMode;
+        return (requested == HoldMode.LEDGER) ? HoldMode.PESSIMISTIC : requested;
+    }
+
+    private boolean useLedger(LocalDate checkIn, LocalDate checkOut) {
+        return holdMode == HoldMode.LEDGER && inventoryLedger.covers(checkIn, checkOut);
+    }
+
+    /** 원장에서 차감한 홀드인지 (LEDGER 모드가 꺼진 채 재기동됐으면 저널 반영이 없으므로 DB 경로) */
+    private boolean reservedInLedger(BookingHold hold) {
+        return holdMode == HoldMode.LEDGER && hold.isInLedger();
     }
 
     /**
      * 만료된 홀드 일괄 해제 (스케줄러/관리자 호출용)
-     *  - expires_at < now 인 홀드를 조회
-     *  - 동일 기간 booking_day 범위를 다시 잠그고 booked 를 복구
-     *  - 홀드 레코드 삭제
+     *  - expires_at < now 인 홀드를 id 순으로 releaseBatchSize 개씩 조회(키셋 페이징)
+     *  - 배치마다 별도 트랜잭션: 일자별 booked 감소량을 합산해 UPDATE 1회, 홀드 DELETE 1회
+     *  - 진행 상황은 reservation.hold.released / reservation.hold.release.batch 메트릭으로 노출
      * 반환값: 정리된(삭제된) 홀드 개수
      */
-    @Transactional
     public int releaseExpiredHolds() {
         LocalDateTime now = LocalDateTime.now();
-        List<BookingHold> expired = bookingHoldRepository.findAllByExpiresAtBefore(now);
         int released = 0;
+        long afterId = 0;
+
+        while (true) {
+            final long cursor = afterId;
+            Timer.Sample sample = Timer.start(meterRegistry);
+            ReleaseBatch batch = transactionTemplate.execute(status -> releaseExpiredBatch(now, cursor));
+            sample.stop(meterRegistry.timer("reservation.hold.release.batch"));
+
+            if (batch == null || batch.released() == 0) break;
 
-        for (BookingHold hold : expired) {
-            // 범위를 다시 잠그고 안전하게 복구
-            var days = bookingDayRepository.findForUpdate(
-                    hold.getHotelId(), hold.getRoomTypeId(), hold.getCheckIn(), hold.getCheckOut());
+            released += batch.released();
+            afterId = batch.lastId();
+            meterRegistry.counter("reservation.hold.released").increment(batch.released());
+            log.debug("Expired hold release progress: batch={}, total={}, lastId={}",
+                    batch.released(), released, afterId);
 
+            if (batch.released() < releaseBatchSize) break;
+        }
+        return released;
+    }
+
+    /** 배치 1회 결과 (처리 건수, 마지막 홀드 id) */
+    private record ReleaseBatch(int released, long lastId) {}
+
+    /** 만료 홀드 1배치 해제 — transactionTemplate 안에서 호출 */
+    private ReleaseBatch releaseExpiredBatch(LocalDateTime now, long afterId) {
+        List<BookingHold> holds = bookingHoldRepository.findExpiredBatch(
+                now, afterId, PageRequest.of(0, releaseBatchSize));
+        if (holds.isEmpty()) return new ReleaseBatch(0, afterId);
+
+        // (호텔, 룸타입, 일자)별 감소량 합산 — TreeMap 정렬 = 행 락 획득 순서 고정
+        var decrements = new TreeMap<BookingDayKey, Integer>();
+        List<Long> ids = new ArrayList<>(holds.size());
+        for (BookingHold hold : holds) {
+            ids.add(hold.getId());
+            appendHoldEvent(OutboxEventType.HOLD_RELEASED, hold);
+            if (reservedInLedger(hold)) {
+                restoreInventory(hold); // 원장 경로는 저널 기록 + 커밋 후 원장에서 복구
+                continue;
+            }
             int qty = Math.max(1, hold.getGuests());
-            for (BookingDay d : days) {
-                int booked = Objects.requireNonNullElse(d.getBooked(), 0);
-                d.setBooked(Math.max(0, booked - qty));
+            publishInventoryChange(hold, qty);
+            for (LocalDate d = hold.getCheckIn(); d.isBefore(hold.getCheckOut()); d = d.plusDays(1)) {
+                decrements.merge(new BookingDayKey(hold.getHotelId(), hold.getRoomTypeId(), d), qty, Integer::sum);
             }
+        }
+
+        bookingDayRepository.decrementBooked(decrements);
+        bookingHoldRepository.deleteByIds(ids);
+        return new ReleaseBatch(holds.size(), ids.get(ids.size() - 1));
+    }
 
-            bookingHoldRepository.delete(hold);
-            released++;
+    /**
+     * 만료 타이머(HoldExpiryScheduler) 콜백용 단건 해제
+     *  - 홀드를 잠가서 조회, 없거나(취소/결제/이미 해제) 아직 만료 전이면 무시
+     * 반환값: 해제 여부
+     */
+    @RetryOnLockFailure
+    @Transactional
+    public boolean releaseIfExpired(String holdCode) {
+        BookingHold hold = bookingHoldRepository.findByHoldCodeForUpdate(holdCode);
+        if (hold == null || hold.getExpiresAt().isAfter(LocalDateTime.now())) return false;
+
+        restoreInventory(hold);
+        appendHoldEvent(OutboxEventType.HOLD_RELEASED, hold);
+        bookingHoldRepository.delete(hold);
+        return true;
+    }
+
+    /**
+     * 결제 승인 직전 홀드 검증 (결제 준비 트랜잭션 안에서 호출)
+     *  - 홀드 잠금 조회 → 존재/미만료/금액 일치 확인
+     *  - 외부 결제 승인 도중 만료되지 않도록 만료시각을 최소 PAYMENT_GRACE_MINUTES 뒤로 연장
+     *    (만료 타이머 재등록: HoldCreatedEvent 재발행)
+     */
+    @Transactional
+    public BookingHold prepareHoldForPayment(String holdCode, long amount) {
+        BookingHold hold = bookingHoldRepository.findByHoldCodeForUpdate(holdCode);
+        LocalDateTime now = LocalDateTime.now();
+        if (hold == null || hold.getExpiresAt().isBefore(now)) {
+            throw new IllegalArgumentException("홀드가 없거나 만료되었습니다.");
         }
-        return released;
+        if (hold.getTotalAmount() != amount) {
+            throw new IllegalArgumentException("결제 금액이 홀드 금액과 다릅니다.");
+        }
+
+        LocalDateTime graceUntil = now.plusMinutes(PAYMENT_GRACE_MINUTES);
+        if (hold.getExpiresAt().isBefore(graceUntil)) {
+            hold.setExpiresAt(graceUntil);
+            eventPublisher.publishEvent(new HoldCreatedEvent(hold.getHoldCode(), graceUntil));
+        }
+        return hold;
+    }
+
+    /**
+     * 결제 완료된 홀드를 예약으로 전환 (결제 확정 트랜잭션 안에서 호출)
+     *  - 홀드 잠금 조회 → Booking(CONFIRMED) + BookingGuest 생성 → 홀드 삭제
+     *  - 재고는 홀드 시점에 이미 차감(booked += qty)되어 있으므로 복구하지 않고 그대로 확정
+     */
+    @Transactional
+    public Booking confirmHold(String holdCode, String guestName, String phone) {
+        BookingHold hold = bookingHoldRepository.findByHoldCodeForUpdate(holdCode);
+        if (hold == null) {
+            throw new IllegalStateException("결제 승인 후 홀드가 없습니다(환불 필요): " + holdCode);
+        }
+
+        Booking booking = Booking.builder()
+                .userId(hold.getUserId())
+                .hotelId(hold.getHotelId())
+                .status(BookingStatus.CONFIRMED)
+                .checkIn(hold.getCheckIn())
+                .checkOut(hold.getCheckOut())
+                .nights((int) ChronoUnit.DAYS.between(hold.getCheckIn(), hold.getCheckOut()))
+                .guests(hold.getGuests())
+                .totalAmount(hold.getTotalAmount())
+                .currency(hold.getCurrency())
+                .voucherNo(holdCodeGenerator.nextVoucherNo())
+                .guestsInfo(new ArrayList<>())
+                .build();
+        booking.getGuestsInfo().add(BookingGuest.builder()
+                .booking(booking)
+                .name((guestName == null || guestName.isBlank()) ? "예약고객" : guestName)
+                .phone(phone)
+                .build());
+
+        Booking saved = bookingRepository.save(booking);
+        bookingHoldRepository.delete(hold);
+        return saved;
     }
 
     /**
      * 특정 홀드 코드 수동 취소(사용자 취소/백오피스 처리)
      *  - 홀드가 존재하면 동일 기간을 잠그고 booked 복구 후 홀드 삭제
      *  - 존재하지 않으면 무시 (idempotent)
+     *  - 결제 승인 진행 중(payments.status = PENDING)이면 거절: 승인 후 확정할 홀드가 사라져 돈만 빠져나감
+     *    홀드 행을 먼저 잠가 결제 준비(prepareHoldForPayment, 같은 홀드 락)와 직렬화한 뒤 확인
      */
+    @RetryOnLockFailure
     @Transactional
     public void cancelHoldByCode(String holdCode) {
-        BookingHold hold = bookingHoldRepository.findByHoldCode(holdCode);
+        BookingHold hold = bookingHoldRepository.findByHoldCodeForUpdate(holdCode);
         if (hold == null) return;
-
-        var days = bookingDayRepository.findForUpdate(
-                hold.getHotelId(), hold.getRoomTypeId(), hold.getCheckIn(), hold.getCheckOut());
-
-        int qty = Math.max(1, hold.getGuests());
-        for (BookingDay d : days) {
-            int booked = Objects.requireNonNullElse(d.getBooked(), 0);
-            d.setBooked(Math.max(0, booked - qty));
+        if (paymentRepository.existsByHoldCodeAndStatus(holdCode, PaymentStatus.PENDING)) {
+            throw new IllegalArgumentException("결제가 진행 중인 홀드는 취소할 수 없습니다.");
         }
 
-        bookingHoldRepository.delete(hold);
-    }
+        restoreInventory(hold);
+        appendHoldEvent(OutboxEventType.HOLD_CANCELLED, hold);
 
-    /** 중복 방지 홀드 코드 생성 — UNIQUE 제약과 병행 사용 */
-    private String generateUniqueHoldCode() {
-        String code;
-        do {
-            code = "HLD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        } while (bookingHoldRepository.existsByHoldCode(code));
-        return code;
+        bookingHoldRepository.delete(hold);
     }
 }
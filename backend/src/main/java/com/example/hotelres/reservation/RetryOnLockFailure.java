@@ -0,0 +1,17 @@
+// path: src/main/java/com/example/hotelres/reservation/RetryOnLockFailure.java
+package com.example.hotelres.reservation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 데드락/락 대기 타임아웃으로 트랜잭션이 중단되면 재시도 (LockRetryAspect)
+ *  - 트랜잭션 경계 바깥에서 감싸므로 재시도마다 새 트랜잭션으로 처음부터 다시 실행된다.
+ *  - 메서드 전체가 재실행되어도 안전한(부분 반영이 없는) 쓰기 메서드에만 붙일 것.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnLockFailure {
+}
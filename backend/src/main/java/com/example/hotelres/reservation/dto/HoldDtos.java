@@ -1,10 +1,13 @@
 // path: src/main/java/com/example/hotelres/reservation/dto/HoldDtos.java
 package com.example.hotelres.reservation.dto;
 
+import com.example.hotelres.reservation.HoldMode;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class HoldDtos {
 
@@ -21,6 +24,35 @@ public class HoldDtos {
         private String couponCode;  // 옵션
         private String guestName;   // 옵션(프론트 표시용)
         private String phone;       // 옵션(프론트 표시용)
+        private HoldMode holdMode;  // 옵션(재고 확보 방식 지정, 미지정 시 서버 설정값)
+    }
+
+    /** 단체 홀드: 여러 룸타입/기간을 한 트랜잭션에서 전부 또는 전무(all-or-nothing)로 선점 */
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class BatchHoldReq {
+        @NotNull private Long userId;
+        @NotEmpty @Size(max = 20) @Valid
+        private List<HoldItem> items;
+
+        private String couponCode;  // 옵션
+        private String guestName;   // 옵션(프론트 표시용)
+        private String phone;       // 옵션(프론트 표시용)
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class HoldItem {
+        @NotNull private Long hotelId;
+        @NotNull private Long roomTypeId;
+        @NotNull private Long ratePlanId;
+        @NotNull private LocalDate checkIn;   // [checkIn, checkOut)
+        @NotNull private LocalDate checkOut;
+        @Min(1) @Builder.Default private int guests = 1;
+    }
+
+    @Getter @AllArgsConstructor
+    public static class BatchHoldRes {
+        private final List<HoldRes> holds;  // items 순서와 동일
+        private final int totalAmount;
     }
 
     @Getter @AllArgsConstructor
@@ -0,0 +1,83 @@
+package com.example.hotelres.security;
+
+import com.example.hotelres.security.JwtUtil.AccessClaims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * ================================================================
+ * AccessTokenVerifier (access 토큰 검증 + 최근 검증 결과 캐시)
+ * ---------------------------------------------------------------
+ *  - 캐시 miss: JwtUtil.parseAccess (미리 만든 파서로 HMAC 검증 + JSON 디코딩 1회) → 결과를 캐시
+ *  - 캐시 hit : 같은 토큰 문자열이면 HMAC/디코딩 없이 (subject, role, iat, exp) 반환. exp 가 지나면 제거 후 재검증(→ 만료 예외)
+ *  - 키는 토큰 전체 문자열 (서명 부분만 키로 쓰면 헤더/페이로드를 바꾼 토큰이 캐시 값을 얻을 수 있음)
+ *  - 실패(서명 불일치/만료/refresh 토큰 등)는 캐시하지 않음 → 위조 토큰 반복으로 캐시를 채울 수 없음
+ *  - 상한 maxSize: 가득 차면 만료 항목을 먼저 치우고(최대 초당 1회), 그래도 가득이면 임의 1/16 제거
+ *  - 메트릭: auth.jwt.cache{result=hit|miss}, auth.jwt.cache.size
+ * ================================================================
+ */
+@Component
+public class AccessTokenVerifier {
+
+    private final JwtUtil jwt;
+    private final int maxSize;
+    private final Map<String, AccessClaims> cache = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+    private final Counter hits;
+    private final Counter misses;
+
+    public AccessTokenVerifier(JwtUtil jwt,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.jwt.verify-cache.max-size:10000}") int maxSize) {
+        this.jwt = jwt;
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("auth.jwt.cache", "result", "hit");
+        this.misses = meterRegistry.counter("auth.jwt.cache", "result", "miss");
+        meterRegistry.gauge("auth.jwt.cache.size", cache, Map::size);
+    }
+
+    /** 유효한 access 토큰이면 클레임, 아니면 JwtException (만료: ExpiredJwtException) */
+    public AccessClaims verify(String token) {
+        long now = System.currentTimeMillis();
+        AccessClaims cached = cache.get(token);
+        if (cached != null) {
+            if (now < cached.expiresAtMs()) {
+                hits.increment();
+                return cached;
+            }
+            cache.remove(token, cached);
+        }
+        misses.increment();
+        AccessClaims claims = jwt.parseAccess(token);
+        if (maxSize > 0 && now < claims.expiresAtMs()) put(token, claims, now);
+        return claims;
+    }
+
+    private void put(String token, AccessClaims claims, long now) {
+        if (cache.size() >= maxSize) makeRoom(now);
+        cache.put(token, claims);
+    }
+
+    private void makeRoom(long now) {
+        long t = System.nanoTime();
+        long last = lastSweep.get();
+        if (t - last >= TimeUnit.SECONDS.toNanos(1) && lastSweep.compareAndSet(last, t)) {
+            cache.values().removeIf(c -> now >= c.expiresAtMs());
+        }
+        if (cache.size() < maxSize) return;
+        // 해시 순서 = 사실상 임의 순서
+        int toRemove = Math.max(1, maxSize / 16);
+        for (Iterator<String> it = cache.keySet().iterator(); it.hasNext() && toRemove-- > 0; ) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.hotelres.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * ================================================================
+ * BoundedPasswordEncoder (BCrypt 전용 실행기)
+ * ---------------------------------------------------------------
+ *  - BCrypt 1회 = 수십 ms CPU. 로그인이 몰리면 요청 스레드마다 해시를 돌려 코어를 다 쓰고 호텔 조회가 굶음
+ *  - encode/matches 는 전용 스레드 workers 개에서만 실행 (기본: 코어 수의 절반, 최소 1) → 해시에 쓰는 CPU 상한
+ *      요청 스레드는 결과를 기다리며 park (CPU 미사용)
+ *      대기열 queueCapacity 가 가득 차면 즉시 PasswordHashingBusyException → 429 + Retry-After
+ *        로그인은 users 조회 전에 checkCapacity() 로 먼저 거절 (거절 비용 = DB 왕복 0)
+ *      maxWaitMs 안에 끝나지 않아도 같은 예외 (아직 대기열에 있던 작업은 취소 → 해시하지 않음)
+ *      → 해시를 기다리는 요청 스레드는 최대 workers + queueCapacity 개, 나머지 tomcat 스레드는 조회용으로 남음
+ *  - 가상 스레드 모드에서도 고정 풀 유지 (CPU 작업이라 동시 실행 수를 묶는 것이 목적)
+ *  - 비용 app.auth.hash.bcrypt-cost: 올리면 기존 해시는 로그인 성공 시 새 비용으로 재해시
+ *      (DaoAuthenticationProvider → upgradeEncoding → UserDetailsServiceImpl.updatePassword)
+ *      대기열이 절반 이상 찼으면 재해시는 다음 로그인으로 미룸
+ *  - 해시 대기 중에 DB 커넥션을 잡지 않도록 호출부는 트랜잭션 밖에서 encode (AuthService)
+ *  - 메트릭: auth.hash{op=encode|matches} (실행 시간), auth.hash.queue.wait, auth.hash.rejected{reason},
+ *           executor.*{name=auth.hash}
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final int queueCapacity;
+    private final long maxWaitMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWait;
+    private final Counter rejectedFull;
+    private final Counter rejectedTimeout;
+
+    public BoundedPasswordEncoder(MeterRegistry meterRegistry,
+                                  @Value("${app.auth.hash.bcrypt-cost:10}") int cost,
+                                  @Value("${app.auth.hash.workers:0}") int workers,
+                                  @Value("${app.auth.hash.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.auth.hash.max-wait-ms:3000}") long maxWaitMs) {
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.bcrypt = new BCryptPasswordEncoder(cost);
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMs = maxWaitMs;
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "auth.hash");
+        this.encodeTimer = meterRegistry.timer("auth.hash", "op", "encode");
+        this.matchesTimer = meterRegistry.timer("auth.hash", "op", "matches");
+        this.queueWait = meterRegistry.timer("auth.hash.queue.wait");
+        this.rejectedFull = meterRegistry.counter("auth.hash.rejected", "reason", "queue_full");
+        this.rejectedTimeout = meterRegistry.counter("auth.hash.rejected", "reason", "timeout");
+        log.info("Password hashing: bcrypt cost {}, {} workers, queue {}", cost, threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> bcrypt.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> bcrypt.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /** 대기열이 가득 찼으면 해시/DB 조회 전에 바로 거절 */
+    public void checkCapacity() {
+        if (pool.getQueue().remainingCapacity() == 0) {
+            rejectedFull.increment();
+            throw new PasswordHashingBusyException();
+        }
+    }
+
+    /** 저장된 해시의 비용이 설정보다 낮으면 true — 단, 해시 대기열에 여유가 있을 때만 */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bcrypt.upgradeEncoding(encodedPassword) && pool.getQueue().size() < queueCapacity / 2;
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        long enqueued = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                queueWait.record(start - enqueued, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedFull.increment();
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejectedTimeout.increment();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -1,24 +1,51 @@
 package com.example.hotelres.security;
 
+import com.example.hotelres.security.JwtUtil.AccessClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
-@Component @RequiredArgsConstructor
+/*
+ * ================================================================
+ * JwtAuthFilter (Bearer access 토큰 → SecurityContext)
+ * ---------------------------------------------------------------
+ *  - 검증: AccessTokenVerifier (캐시) → TokenRevocationList (잠금/비밀번호 재설정 이전 발급분 거절)
+ *  - principal:
+ *      app.jwt.stateless-principal=true (기본): 토큰의 sub/role 클레임으로 바로 생성 → 요청마다 users 조회 없음
+ *      false: 예전처럼 UserDetailsServiceImpl 로 users 조회
+ *  - 실패는 auth.jwt.rejected{reason} 로 집계하고 익명으로 진행 (permitAll 경로는 그대로, 보호 경로는 401)
+ * ================================================================
+ */
+@Component @RequiredArgsConstructor @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
-    private final JwtUtil jwt;
+    private final AccessTokenVerifier verifier;
+    private final TokenRevocationList revocations;
     private final UserDetailsServiceImpl uds;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal = true;
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
@@ -27,14 +54,35 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                if (!jwt.isAccessToken(token)) throw new RuntimeException("not access token");
-                String loginId = jwt.parse(token).getBody().getSubject();
-                UserDetails user = uds.loadUserByUsername(loginId);
-                var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
-                SecurityContextHolder.getContext().setAuthentication(auth);
-            } catch (Exception ignored) {}
+                AccessClaims claims = verifier.verify(token);   // 캐시 hit 면 HMAC/디코딩 생략
+                if (revocations.isRevoked(claims.subject(), claims.issuedAtMs())) {
+                    reject("revoked", claims.subject());
+                } else {
+                    UserDetails user = statelessPrincipal ? principal(claims) : uds.loadUserByUsername(claims.subject());
+                    var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
+            } catch (ExpiredJwtException e) {
+                reject("expired", e.getMessage());
+            } catch (JwtException | IllegalArgumentException e) {
+                reject("invalid", e.getMessage());
+            } catch (UsernameNotFoundException e) {
+                reject("unknown_user", e.getMessage());
+            }
         }
+        // 인증 실패여도 익명으로 진행 → permitAll 경로는 그대로, 보호 경로는 401
         chain.doFilter(req, res);
     }
+
+    /** 검증된 클레임만으로 principal 생성 (자격 증명은 보관하지 않음) */
+    private static UserDetails principal(AccessClaims claims) {
+        if (claims.role() == null) throw new MalformedJwtException("access token without role");
+        return new User(claims.subject(), "", List.of(new SimpleGrantedAuthority(claims.role())));
+    }
+
+    private void reject(String reason, String detail) {
+        meterRegistry.counter("auth.jwt.rejected", "reason", reason).increment();
+        log.debug("Bearer token rejected ({}): {}", reason, detail);
+    }
 }
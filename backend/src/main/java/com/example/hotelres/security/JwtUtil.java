@@ -12,6 +12,7 @@ import java.util.Map;
 @Component
 public class JwtUtil {
     private final Key key;
+    private final JwtParser parser;    // 불변·스레드 안전 → 한 번만 생성해 재사용
     private final long accessExpMs;
     private final long refreshExpMs;
 
@@ -21,12 +22,16 @@ public class JwtUtil {
             @Value("${app.jwt.refresh-expiration-ms}") long refreshExpMs
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.accessExpMs = accessExpMs;
         this.refreshExpMs = refreshExpMs;
     }
 
     private String build(String subject, Map<String,Object> claims, long expMs){
-        long now = System.currentTimeMillis();
+        return build(subject, claims, System.currentTimeMillis(), expMs);
+    }
+
+    private String build(String subject, Map<String,Object> claims, long now, long expMs){
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
@@ -36,19 +41,43 @@ public class JwtUtil {
                 .compact();
     }
 
+    /** iatMs: 발급 시각(ms) — 표준 iat 는 초 단위라 무효화 시각과 ms 단위로 비교하려고 따로 둠 */
     public String generateAccess(String loginId, String role){
-        return build(loginId, Map.of("type","access","role",role), accessExpMs);
+        long now = System.currentTimeMillis();
+        return build(loginId, Map.of("type","access","role",role,"iatMs",now), now, accessExpMs);
     }
-    public String generateRefresh(String loginId){
-        return build(loginId, Map.of("type","refresh"), refreshExpMs);
+    /** refresh 토큰 id = (패밀리, 세대) — 발급/회전은 RefreshTokenStore 에서만 */
+    public String generateRefresh(String loginId, long familyId, int generation){
+        return build(loginId, Map.of("type","refresh","fam",familyId,"gen",generation), refreshExpMs);
     }
 
     public Jws<Claims> parse(String token){
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return parser.parseClaimsJws(token);
     }
-    public boolean isAccessToken(String token){
-        try { return "access".equals(parse(token).getBody().get("type")); }
-        catch (Exception e){ return false; }
+
+    /** 서명·만료 검증 + access 타입 확인을 파싱 1회로 (아니면 JwtException) */
+    public AccessClaims parseAccess(String token){
+        Claims c = parse(token).getBody();
+        if (!"access".equals(c.get("type"))) throw new UnsupportedJwtException("not access token");
+        if (c.getExpiration() == null) throw new MalformedJwtException("access token without exp");
+        Long iatMs = c.get("iatMs", Long.class); // 없으면(이전 발급분) 초 단위 iat 로 대체
+        long issuedAtMs = (iatMs != null) ? iatMs : (c.getIssuedAt() != null ? c.getIssuedAt().getTime() : 0L);
+        return new AccessClaims(c.getSubject(), c.get("role", String.class), issuedAtMs, c.getExpiration().getTime());
+    }
+
+    /** 서명·만료 검증 + refresh 타입/패밀리 클레임 확인 (아니면 JwtException) */
+    public RefreshClaims parseRefresh(String token){
+        Claims c = parse(token).getBody();
+        if (!"refresh".equals(c.get("type"))) throw new UnsupportedJwtException("not refresh token");
+        Long fam = c.get("fam", Long.class);
+        Integer gen = c.get("gen", Integer.class);
+        if (fam == null || gen == null) throw new MalformedJwtException("refresh token without family");
+        return new RefreshClaims(c.getSubject(), fam, gen);
     }
+
+    /** 검증된 access 토큰에서 인증에 쓰는 값 */
+    public record AccessClaims(String subject, String role, long issuedAtMs, long expiresAtMs) {}
+    public record RefreshClaims(String subject, long familyId, int generation) {}
+    public long getAccessExpMs(){ return accessExpMs; }
     public long getRefreshExpMs(){ return refreshExpMs; }
 }
@@ -27,6 +27,7 @@ public class OAuth2SuccessHandler implements org.springframework.security.web.au
 
     private final JwtUtil jwt;
     private final UserRepository users;
+    private final RefreshTokenStore refreshTokens;
 
     @Override
     @Transactional
@@ -110,7 +111,7 @@ public class OAuth2SuccessHandler implements org.springframework.security.web.au
 
         // JWT 발급 + refresh 쿠키
         String access  = jwt.generateAccess(u.getLoginId(), u.getRole().name());
-        String refresh = jwt.generateRefresh(u.getLoginId());
+        String refresh = refreshTokens.issue(u.getLoginId());
 
         ResponseCookie cookie = ResponseCookie.from("refreshToken", refresh)
                 .httpOnly(true)
@@ -0,0 +1,8 @@
+package com.example.hotelres.security;
+
+/** 비밀번호 해시 대기열이 가득 찼거나 대기 시간 초과 → 429 (해시를 시도하지 않음) */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("로그인 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+    }
+}
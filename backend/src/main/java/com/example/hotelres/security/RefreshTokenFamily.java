@@ -0,0 +1,50 @@
+package com.example.hotelres.security;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * refresh 토큰 패밀리 (로그인 1회 = 1행) — 스키마 정의용 매핑
+ *  - 기록/조회는 RefreshTokenStore(JDBC) 가 담당
+ *  - generation = 현재 유효한 토큰의 세대. 회전할 때마다 +1, 지난 세대 토큰이 다시 오면 revoked_at 기록
+ *  - login_id 인덱스: 사용자 단위 일괄 무효화, expires_at 인덱스: 만료 행 정리
+ */
+@Entity
+@Table(name = "refresh_token_families",
+       indexes = {
+           @Index(name = "idx_rtf_login_id", columnList = "login_id"),
+           @Index(name = "idx_rtf_expires_at", columnList = "expires_at")
+       })
+@Getter
+@NoArgsConstructor
+public class RefreshTokenFamily {
+
+    /** 난수 id (토큰의 fam 클레임) */
+    @Id
+    @Column(name = "family_id")
+    private Long familyId;
+
+    @Column(name = "login_id", nullable = false, length = 191)
+    private String loginId;
+
+    @Column(nullable = false)
+    private int generation;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @Column(name = "revoke_reason", length = 20)
+    private String revokeReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+}
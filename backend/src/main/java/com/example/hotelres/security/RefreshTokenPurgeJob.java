@@ -0,0 +1,20 @@
+package com.example.hotelres.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPurgeJob {
+    private final RefreshTokenStore refreshTokenStore;
+
+    // 만료된 refresh 토큰 패밀리 정리 (그 토큰들은 이미 서명 검증 단계에서 만료로 거절됨)
+    @Scheduled(cron = "${app.jwt.refresh.purge-cron:0 45 * * * *}")
+    public void run() {
+        int purged = refreshTokenStore.purge();
+        if (purged > 0) log.info("Refresh token families purged: {} (hot {})", purged, refreshTokenStore.hotSize());
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.hotelres.security;
+
+import com.example.hotelres.security.JwtUtil.RefreshClaims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * ================================================================
+ * RefreshTokenStore (refresh 토큰 회전 + 재사용 탐지)
+ * ---------------------------------------------------------------
+ *  - 로그인 1회 = 패밀리 1개 (refresh_token_families 1행). 토큰 id = 서명된 (fam, gen) 클레임
+ *  - 회전: 현재 세대 토큰만 gen+1 토큰으로 교환
+ *      최종 판정은 조건부 UPDATE (generation = ? AND revoked_at IS NULL) → 노드가 여럿이어도 한 번만 성공
+ *  - 재사용: 지난 세대 토큰이 다시 오면 유출로 보고 패밀리 전체 무효 (그 뒤에 회전된 토큰까지 한 번에)
+ *      예외(유예): 직전 세대 토큰이 회전 후 reuseGraceMs 안에 다시 오면 (탭 두 개의 동시 refresh, 응답 유실 후 재전송)
+ *      DB 로 확인 후 현재 세대 토큰을 다시 발급 — 두 세대 이상 지난 토큰이나 유예 이후 재사용만 유출로 판정
+ *  - 핫 티어: familyId → (세대, 만료, 무효 여부, 마지막 회전 시각) 노드 메모리 맵
+ *      · 무효 패밀리 / 지난 세대 토큰은 맵 조회 1번으로 거절 (DB 왕복 없음), 정상 회전은 UPDATE 1번
+ *      · 맵에 없으면 DB 에서 1행 적재. 맵 값은 커밋된 값만 반영하므로 DB 보다 늦을 수는 있어도 앞서지 않음
+ *        → "지난 세대" 판정은 맵만으로 확정, 그 외는 조건부 UPDATE 가 확인
+ *      · 상한 maxEntries: 가득 차면 만료 항목부터(최대 초당 1회), 그래도 가득이면 임의 1/16 제거 → 필요 시 DB 재적재
+ *  - 로그아웃: 해당 패밀리 무효, 비밀번호 재설정/잠금: 사용자의 모든 패밀리 무효
+ *  - 만료된 패밀리는 purge() 로 DB/메모리에서 삭제 (RefreshTokenPurgeJob)
+ *  - 메트릭: auth.refresh{result} (유예 재발급은 result=grace), auth.refresh.hot{result=hit|miss}, auth.refresh.hot.size,
+ *           auth.refresh.revoked{reason}, auth.refresh.purged
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class RefreshTokenStore {
+
+    /** 한 번에 지우는 만료 행 수 (긴 락/언두 방지) */
+    private static final int PURGE_CHUNK = 5000;
+
+    public enum Outcome { ROTATED, REUSED, REVOKED, UNKNOWN }
+
+    /** 회전 결과 — ROTATED 일 때만 loginId / refreshToken 이 채워짐 */
+    public record Rotation(Outcome outcome, String loginId, String refreshToken) {}
+
+    /** 핫 티어 값 (loginId 는 토큰 sub 에 있으므로 보관하지 않음, rotatedAtMs = 0 이면 회전 전) */
+    private record Family(int generation, long expiresAtMs, boolean revoked, long rotatedAtMs) {}
+
+    private final JwtUtil jwt;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxEntries;
+    private final long reuseGraceMs;
+    private final Map<Long, Family> hot = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter purged;
+
+    public RefreshTokenStore(JwtUtil jwt,
+                             JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.jwt.refresh.hot-max-entries:1000000}") int maxEntries,
+                             @Value("${app.jwt.refresh.reuse-grace-ms:5000}") long reuseGraceMs) {
+        this.jwt = jwt;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxEntries = maxEntries;
+        this.reuseGraceMs = reuseGraceMs;
+        this.hits = meterRegistry.counter("auth.refresh.hot", "result", "hit");
+        this.misses = meterRegistry.counter("auth.refresh.hot", "result", "miss");
+        this.purged = meterRegistry.counter("auth.refresh.purged");
+        meterRegistry.gauge("auth.refresh.hot.size", hot, Map::size);
+    }
+
+    /** 새 패밀리(세대 0) 생성 + 첫 refresh 토큰 */
+    public String issue(String loginId) {
+        long familyId = random.nextLong() & Long.MAX_VALUE;
+        long now = System.currentTimeMillis();
+        long exp = now + jwt.getRefreshExpMs();
+        jdbcTemplate.update(
+                "INSERT INTO refresh_token_families(family_id, login_id, generation, expires_at, created_at)"
+                        + " VALUES (?, ?, 0, ?, ?)",
+                familyId, loginId, new Timestamp(exp), new Timestamp(now));
+        afterCommit(() -> remember(familyId, new Family(0, exp, false, 0)));
+        return jwt.generateRefresh(loginId, familyId, 0);
+    }
+
+    /** refresh 토큰 교환. 서명/만료/타입 오류는 JwtException */
+    public Rotation rotate(String token) {
+        RefreshClaims c = jwt.parseRefresh(token);
+        long familyId = c.familyId();
+        Family f = hot.get(familyId);
+        if (f != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            f = load(familyId);
+        }
+        // 맵이 DB 보다 늦은 경우(다른 노드에서 회전) 한 번 다시 읽음
+        if (f != null && !f.revoked() && c.generation() > f.generation()) f = load(familyId);
+
+        if (f == null || c.generation() > f.generation()) return result(Outcome.UNKNOWN);
+        if (f.revoked()) return result(Outcome.REVOKED);
+        if (c.generation() < f.generation()) return reuse(c, f, false);
+
+        int next = f.generation() + 1;
+        long now = System.currentTimeMillis();
+        long exp = now + jwt.getRefreshExpMs();
+        int updated = jdbcTemplate.update(
+                "UPDATE refresh_token_families SET generation = ?, expires_at = ?, rotated_at = ?"
+                        + " WHERE family_id = ? AND generation = ? AND revoked_at IS NULL",
+                next, new Timestamp(exp), new Timestamp(now), familyId, f.generation());
+        if (updated == 0) {
+            // 그 사이 같은 토큰으로 먼저 회전했거나(동시 refresh/재사용) 무효화됨
+            Family current = load(familyId);
+            if (current == null) return result(Outcome.UNKNOWN);
+            if (current.revoked()) return result(Outcome.REVOKED);
+            return reuse(c, current, true);
+        }
+        afterCommit(() -> remember(familyId, new Family(next, exp, false, now)));
+        meterRegistry.counter("auth.refresh", "result", "rotated").increment();
+        return new Rotation(Outcome.ROTATED, c.subject(), jwt.generateRefresh(c.subject(), familyId, next));
+    }
+
+    /** 토큰이 속한 패밀리 무효 (로그아웃). 유효하지 않은 토큰이면 false */
+    public boolean revoke(String token, String reason) {
+        try {
+            return revoke(jwt.parseRefresh(token).familyId(), reason);
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    /** 사용자의 모든 패밀리 무효 (비밀번호 재설정/잠금). 반환값: 무효화한 패밀리 수 */
+    public int revokeUser(String loginId, String reason) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT family_id FROM refresh_token_families WHERE login_id = ? AND revoked_at IS NULL",
+                Long.class, loginId);
+        if (ids.isEmpty()) return 0;
+        int revoked = jdbcTemplate.update(
+                "UPDATE refresh_token_families SET revoked_at = ?, revoke_reason = ?"
+                        + " WHERE login_id = ? AND revoked_at IS NULL",
+                new Timestamp(System.currentTimeMillis()), reason, loginId);
+        afterCommit(() -> ids.forEach(this::markRevoked));
+        meterRegistry.counter("auth.refresh.revoked", "reason", reason).increment(revoked);
+        return revoked;
+    }
+
+    /** 만료된 패밀리 삭제 (DB + 메모리). 반환값: 삭제한 행 수 */
+    public int purge() {
+        long now = System.currentTimeMillis();
+        Timestamp before = new Timestamp(now);
+        int total = 0, deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM refresh_token_families WHERE expires_at < ? LIMIT " + PURGE_CHUNK, before);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK);
+        hot.values().removeIf(f -> f.expiresAtMs() < now);
+        purged.increment(total);
+        return total;
+    }
+
+    public int hotSize() {
+        return hot.size();
+    }
+
+    private boolean revoke(long familyId, String reason) {
+        int revoked = jdbcTemplate.update(
+                "UPDATE refresh_token_families SET revoked_at = ?, revoke_reason = ?"
+                        + " WHERE family_id = ? AND revoked_at IS NULL",
+                new Timestamp(System.currentTimeMillis()), reason, familyId);
+        afterCommit(() -> markRevoked(familyId));
+        if (revoked > 0) {
+            meterRegistry.counter("auth.refresh.revoked", "reason", reason).increment();
+            if ("REUSED".equals(reason)) log.warn("Refresh token reuse detected: family {} revoked", familyId);
+        }
+        return revoked > 0;
+    }
+
+    /**
+     * 지난 세대 토큰 처리
+     *  - 직전 세대 + 회전 후 reuseGraceMs 안 → 현재 세대 토큰 재발급 (다른 노드에서 더 회전했을 수 있으므로 DB 값으로 확정)
+     *  - 그 외 → 유출로 보고 패밀리 무효
+     */
+    private Rotation reuse(RefreshClaims c, Family f, boolean fromDb) {
+        long familyId = c.familyId();
+        if (inGrace(c, f)) {
+            Family current = fromDb ? f : load(familyId);
+            if (current == null) return result(Outcome.UNKNOWN);
+            if (current.revoked()) return result(Outcome.REVOKED);
+            if (inGrace(c, current)) {
+                meterRegistry.counter("auth.refresh", "result", "grace").increment();
+                return new Rotation(Outcome.ROTATED, c.subject(),
+                        jwt.generateRefresh(c.subject(), familyId, current.generation()));
+            }
+        }
+        revoke(familyId, "REUSED");
+        return result(Outcome.REUSED);
+    }
+
+    private boolean inGrace(RefreshClaims c, Family f) {
+        return c.generation() == f.generation() - 1 && f.rotatedAtMs() > 0
+                && System.currentTimeMillis() - f.rotatedAtMs() <= reuseGraceMs;
+    }
+
+    private Family load(long familyId) {
+        List<Family> rows = jdbcTemplate.query(
+                "SELECT generation, expires_at, revoked_at, rotated_at FROM refresh_token_families WHERE family_id = ?",
+                (rs, i) -> {
+                    Timestamp rotatedAt = rs.getTimestamp("rotated_at");
+                    return new Family(rs.getInt("generation"), rs.getTimestamp("expires_at").getTime(),
+                            rs.getTimestamp("revoked_at") != null, rotatedAt == null ? 0 : rotatedAt.getTime());
+                },
+                familyId);
+        if (rows.isEmpty()) return null;
+        remember(familyId, rows.get(0));
+        return rows.get(0);
+    }
+
+    /** 핫 티어 반영. 무효가 우선, 그 외엔 높은 세대가 우선 (늦게 도착한 옛 값이 덮어쓰지 않도록) */
+    private void remember(long familyId, Family f) {
+        if (hot.size() >= maxEntries && !hot.containsKey(familyId)) makeRoom(System.currentTimeMillis());
+        hot.merge(familyId, f, (old, nu) ->
+                old.revoked() || (!nu.revoked() && old.generation() > nu.generation()) ? old : nu);
+    }
+
+    private void markRevoked(long familyId) {
+        hot.computeIfPresent(familyId, (k, f) -> f.revoked() ? f : new Family(f.generation(), f.expiresAtMs(), true, f.rotatedAtMs()));
+    }
+
+    private void makeRoom(long now) {
+        long t = System.nanoTime();
+        long last = lastSweep.get();
+        if (t - last >= TimeUnit.SECONDS.toNanos(1) && lastSweep.compareAndSet(last, t)) {
+            hot.values().removeIf(f -> now >= f.expiresAtMs());
+        }
+        if (hot.size() < maxEntries) return;
+        // 해시 순서 = 사실상 임의 순서 (빠진 항목은 다음 요청 때 DB 에서 다시 읽음)
+        int toRemove = Math.max(1, maxEntries / 16);
+        for (Iterator<Long> it = hot.keySet().iterator(); it.hasNext() && toRemove-- > 0; ) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private Rotation result(Outcome outcome) {
+        meterRegistry.counter("auth.refresh", "result", outcome.name().toLowerCase()).increment();
+        return new Rotation(outcome, null, null);
+    }
+
+    /** 트랜잭션 안이면 커밋 후, 아니면 즉시 — 롤백된 변경이 메모리에 남지 않도록 */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
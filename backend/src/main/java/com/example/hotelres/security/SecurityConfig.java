@@ -10,7 +10,6 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizationRequestResolver;
@@ -35,19 +34,18 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
     private final UserDetailsServiceImpl uds;
+    private final PasswordEncoder passwordEncoder; // BoundedPasswordEncoder (전용 풀에서 BCrypt)
 
     // 소셜 로그인
     private final OAuth2UserServiceImpl oAuth2UserService;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
 
-    @Bean
-    PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
-
     @Bean
     public DaoAuthenticationProvider authProvider() {
         var p = new DaoAuthenticationProvider();
         p.setUserDetailsService(uds);
-        p.setPasswordEncoder(passwordEncoder());
+        p.setPasswordEncoder(passwordEncoder);
+        p.setUserDetailsPasswordService(uds); // 해시 비용이 바뀌면 로그인 성공 시 재해시
         return p;
     }
 
@@ -68,6 +66,7 @@ public class SecurityConfig {
             	    .requestMatchers(HttpMethod.GET, "/api/hotels/featured").permitAll()    // 특집 호텔 조회
             	    .requestMatchers(HttpMethod.POST, "/api/reservations/hold").permitAll() // 예약 홀드 생성
             	    .requestMatchers(HttpMethod.POST, "/api/reservations/hold").permitAll()
+            	    .requestMatchers(HttpMethod.POST, "/api/reservations/hold/batch").permitAll() // 단체(다중 룸타입) 홀드
                     .requestMatchers(HttpMethod.DELETE, "/api/reservations/hold/**").permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/reservations/holds/release-expired").hasRole("ADMIN")//비상용
             	    // (빠른예약 쓰면 아래도 허용)
@@ -0,0 +1,132 @@
+package com.example.hotelres.security;
+
+import com.example.hotelres.outbox.OutboxEventType;
+import com.example.hotelres.outbox.OutboxMessage;
+import com.example.hotelres.outbox.OutboxWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * ================================================================
+ * TokenRevocationList (access 토큰 무효화 목록, 노드 메모리)
+ * ---------------------------------------------------------------
+ *  - loginId → 무효화 시각(ms). 그 시각 이전(같은 ms 포함)에 발급된 access 토큰은 거절
+ *    발급 시각은 access 토큰의 iatMs 클레임(ms). iatMs 가 없는 이전 발급분만 초 단위 iat 로 비교(같은 초도 거절)
+ *    → JwtAuthFilter 가 클레임만으로 인증해도 잠금/비밀번호 재설정이 바로 반영됨 (요청마다 users 조회 없음)
+ *  - 기록: revokeAll() 은 호출 트랜잭션에 USER_TOKENS_REVOKED 아웃박스 이벤트를 남기고, 커밋되면 이 노드에 즉시 반영
+ *  - 전파/복구: OutboxRelay 가 발행하는 같은 이벤트로 반영(멱등, 시각은 max), 기동 시 access 토큰 수명 안의 이벤트를 다시 읽음
+ *    기동 적재는 싱글톤 생성 직후(웹 서버 시작 전) → 목록이 비어 있는 동안 요청을 받는 구간이 없음
+ *    version = 반영한 마지막 아웃박스 id
+ *  - access 토큰 수명이 지난 항목은 그 전에 발급된 토큰이 모두 만료됐으므로 prune() 으로 제거 → 목록은 최근 변경 건수만큼만
+ *  - 메트릭: auth.revocation.size, auth.revocation.version
+ * ================================================================
+ */
+@Component
+@Slf4j
+public class TokenRevocationList implements SmartInitializingSingleton {
+
+    private record RevokedPayload(String loginId, long revokedAtMs, String reason) {}
+
+    private final OutboxWriter outboxWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final long retentionMs;
+    private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public TokenRevocationList(OutboxWriter outboxWriter,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               JwtUtil jwt,
+                               MeterRegistry meterRegistry) {
+        this.outboxWriter = outboxWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.retentionMs = jwt.getAccessExpMs();
+        meterRegistry.gauge("auth.revocation.size", revokedAt, Map::size);
+        meterRegistry.gauge("auth.revocation.version", version, AtomicLong::get);
+    }
+
+    /** 지금까지 발급된 loginId 의 access 토큰 전부 무효 (트랜잭션 안에서 호출) */
+    public void revokeAll(String loginId, String reason) {
+        long now = System.currentTimeMillis();
+        outboxWriter.append(OutboxEventType.USER_TOKENS_REVOKED, "USER", loginId, new RevokedPayload(loginId, now, reason));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(loginId, now);
+            }
+        });
+    }
+
+    /** issuedAtMs 에 발급된 토큰이 무효화됐는지 (무효화와 같은 ms 에 발급된 토큰도 무효) */
+    public boolean isRevoked(String loginId, long issuedAtMs) {
+        Long at = revokedAt.get(loginId);
+        return at != null && issuedAtMs <= at;
+    }
+
+    @EventListener
+    public void onOutbox(OutboxMessage m) {
+        if (m.eventType() != OutboxEventType.USER_TOKENS_REVOKED) return;
+        apply(m.payload());
+        version.accumulateAndGet(m.id(), Math::max);
+    }
+
+    /** 모든 싱글톤(EntityManagerFactory 포함) 생성 후, 웹 서버가 요청을 받기 전에 적재 */
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    /** 기동 시: 아직 살아 있을 수 있는 토큰에 해당하는 무효화 이벤트 재적재 (발행 여부 무관) */
+    private void load() {
+        Timestamp since = Timestamp.valueOf(LocalDateTime.now().minusNanos(retentionMs * 1_000_000));
+        jdbcTemplate.query(
+                "SELECT id, payload FROM outbox_events WHERE event_type = ? AND created_at >= ? ORDER BY id",
+                rs -> {
+                    try {
+                        apply(objectMapper.readTree(rs.getString("payload")));
+                        version.accumulateAndGet(rs.getLong("id"), Math::max);
+                    } catch (IOException e) {
+                        log.warn("Skipping unreadable revocation event id={} ({})", rs.getLong("id"), e.getMessage());
+                    }
+                },
+                OutboxEventType.USER_TOKENS_REVOKED.name(), since);
+        log.info("Token revocation list loaded: {} users, version {}", revokedAt.size(), version.get());
+    }
+
+    /** access 토큰 수명이 지난 항목 제거. 반환값: 제거 건수 */
+    public int prune() {
+        long before = System.currentTimeMillis() - retentionMs;
+        int size = revokedAt.size();
+        revokedAt.values().removeIf(at -> at < before);
+        return size - revokedAt.size();
+    }
+
+    public int size() {
+        return revokedAt.size();
+    }
+
+    private void apply(JsonNode payload) {
+        apply(payload.get("loginId").asText(), payload.get("revokedAtMs").asLong());
+    }
+
+    private void apply(String loginId, long at) {
+        revokedAt.merge(loginId, at, Math::max);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.hotelres.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationPruneJob {
+    private final TokenRevocationList tokenRevocationList;
+
+    // access 토큰 수명이 지난 무효화 항목 제거 (그 이전 토큰은 이미 모두 만료)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.prune-interval-ms:60000}")
+    public void run() {
+        int pruned = tokenRevocationList.prune();
+        if (pruned > 0) log.debug("Token revocations pruned: {} (remaining {})", pruned, tokenRevocationList.size());
+    }
+}
@@ -10,7 +10,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 
 @Service @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository users;
 
     @Override
@@ -21,4 +21,11 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 u.getLoginId(), u.getPasswordHash(),
                 List.of(new SimpleGrantedAuthority(u.getRole().name())));
     }
+
+    /** 로그인 성공 후 재해시 (그 사이 비밀번호가 바뀌었으면 덮어쓰지 않음) */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        users.updatePasswordHash(user.getUsername(), user.getPassword(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
 }
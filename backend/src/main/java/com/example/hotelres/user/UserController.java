@@ -22,8 +22,18 @@ public class UserController {
         String email = body.get("email");
         try {
             String code = emailService.generate6Digit();
-            emailCodeStore.save(email, code, 300);      // 5분 TTL
-            emailService.sendVerificationCode(email, code);
+            if (!emailCodeStore.hasRoomFor(email)) {
+                return tooManyPendingCodes();
+            }
+            // 발송 큐에 넣고 바로 응답 (실제 SMTP 발송은 MailQueue 워커)
+            //  큐가 가득 차 거절되면 저장하지 않음 → 이전에 받은 코드가 그대로 유효
+            if (!emailService.sendVerificationCode(email, code, 300)) {
+                return ResponseEntity.status(503)
+                        .body(Map.of("error", "MailQueueFull", "message", "메일 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."));
+            }
+            if (!emailCodeStore.save(email, code, 300)) {      // 5분 TTL (확인 후 그 사이 가득 찬 경우)
+                return tooManyPendingCodes();
+            }
             return ResponseEntity.ok(Map.of("sent", true));
         } catch (Exception e) {
             return ResponseEntity.status(500)
@@ -31,6 +41,11 @@ public class UserController {
         }
     }
 
+    private static ResponseEntity<?> tooManyPendingCodes() {
+        return ResponseEntity.status(503)
+                .body(Map.of("error", "TooManyPendingCodes", "message", "인증 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."));
+    }
+
     /** (선택) 코드만 별도로 검증: POST /api/auth/email/verify  { "email":"...","code":"123456" } */
     @PostMapping("/auth/email/verify")
     public ResponseEntity<?> verify(@RequestBody Map<String, String> body) {
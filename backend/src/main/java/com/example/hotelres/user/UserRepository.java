@@ -1,6 +1,12 @@
 package com.example.hotelres.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -8,4 +14,44 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByLoginId(String loginId);
     boolean existsByEmail(String email);
+
+    // 재해시: 읽어 둔 해시가 그대로일 때만 교체
+    @Transactional
+    @Modifying
+    @Query("update User u set u.passwordHash = :newHash where u.loginId = :loginId and u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("loginId") String loginId, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    // 로그인 실패: 읽고-더해-쓰기 없이 DB 에서 +1 (행 잠금으로 동시 실패도 빠짐없이 누적)
+    @Modifying
+    @Query("update User u set u.failedLoginAttempts = u.failedLoginAttempts + 1 where u.id = :id")
+    int incrementFailedLogins(@Param("id") Long id);
+
+    @Query("select u.failedLoginAttempts from User u where u.id = :id")
+    int findFailedLoginAttempts(@Param("id") Long id);
+
+    // 임계값에 도달한 활성 계정 잠금 — 1 이면 이번 호출이 잠금
+    @Modifying
+    @Query("update User u set u.status = :locked, u.lockedAt = :now"
+            + " where u.id = :id and u.status = :active and u.failedLoginAttempts >= :threshold")
+    int lockIfThresholdReached(@Param("id") Long id, @Param("threshold") int threshold, @Param("now") LocalDateTime now,
+                               @Param("active") User.Status active, @Param("locked") User.Status locked);
+
+    // 잠금 시각이 cutoff 이전인 계정 해제 — 0 이면 아직 잠금
+    @Transactional
+    @Modifying
+    @Query("update User u set u.status = :active, u.failedLoginAttempts = 0, u.lockedAt = null"
+            + " where u.id = :id and u.status = :locked and u.lockedAt < :cutoff")
+    int unlockIfExpired(@Param("id") Long id, @Param("cutoff") LocalDateTime cutoff,
+                        @Param("active") User.Status active, @Param("locked") User.Status locked);
+
+    // 로그인 성공 시 실패 횟수/잠금 시각만 초기화 (엔티티 전체를 다시 쓰면 재해시된 password_hash 를 덮어씀)
+    // 그 사이 잠긴 계정은 건드리지 않음 (lockedAt 이 지워지면 unlockIfExpired 가 영영 풀지 못함)
+    @Transactional
+    @Modifying
+    @Query("update User u set u.failedLoginAttempts = 0, u.lockedAt = null where u.id = :id and u.status = :active")
+    int resetLoginFailures(@Param("id") Long id, @Param("active") User.Status active);
+
+    // 현재 상태만 조회 (로그인 성공 직전 재확인용)
+    @Query("select u.status from User u where u.id = :id")
+    User.Status findStatus(@Param("id") Long id);
 }